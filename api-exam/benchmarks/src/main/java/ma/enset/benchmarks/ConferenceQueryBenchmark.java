@@ -0,0 +1,168 @@
+package ma.enset.benchmarks;
+
+import ma.enset.benchmarks.support.ConferenceServiceContext;
+import ma.enset.conferenceservice.dtos.ConferenceDTO;
+import ma.enset.conferenceservice.dtos.ConferenceQueryDTO;
+import ma.enset.conferenceservice.dtos.QueryPageDTO;
+import ma.enset.conferenceservice.entities.Conference;
+import ma.enset.conferenceservice.enums.ConferenceSortField;
+import ma.enset.conferenceservice.enums.ConferenceType;
+import ma.enset.conferenceservice.repositories.ConferenceRepository;
+import ma.enset.conferenceservice.repositories.ConferenceSpecifications;
+import ma.enset.conferenceservice.services.ConferenceService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one page of GET /api/conferences/query over a large table. offsetDeepPage
+ * reproduces page-number pagination at the same depth as keysetDeepPage as a baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@State(Scope.Benchmark)
+public class ConferenceQueryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_PAGE = 10_000;
+    private static final LocalDate FIRST_DATE = LocalDate.of(2020, 1, 1);
+    private static final int DAYS = 3650;
+    private static final int KEYNOTES = 1000;
+    // H2 reuses the result of a statement run again with the same parameters, so every
+    // benchmark cycles through this many parameter sets
+    private static final int VARIANTS = 16;
+    private static final String[] TOPICS = {"Java", "Cloud", "Data", "Security", "Mobile", "Web", "DevOps", "AI"};
+
+    @Param({"1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private ConferenceService conferenceService;
+    private ConferenceRepository conferenceRepository;
+    private final List<String> deepCursors = new ArrayList<>();
+    private int invocation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ConferenceServiceContext.start();
+        conferenceService = context.getBean(ConferenceService.class);
+        conferenceRepository = context.getBean(ConferenceRepository.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        seed(jdbcTemplate);
+
+        // Cursors at the first conference of the days reached after about DEEP_PAGE pages by date
+        for (int i = 0; i < VARIANTS; i++) {
+            LocalDate deepDate = jdbcTemplate.queryForObject(
+                    "select date from conference order by date, id offset ? rows fetch next 1 row only",
+                    LocalDate.class, (long) (DEEP_PAGE + i * 50) * PAGE_SIZE);
+            deepCursors.add(conferenceService.queryConferences(ConferenceQueryDTO.builder()
+                            .from(deepDate)
+                            .to(deepDate)
+                            .limit(1)
+                            .build())
+                    .getNextCursor());
+        }
+    }
+
+    // Plain JDBC batches: going through JPA would also index a million titles in Lucene
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>();
+        for (int id = 1; id <= rows; id++) {
+            batch.add(new Object[]{
+                    (long) id,
+                    "Conference " + TOPICS[random.nextInt(TOPICS.length)] + " " + id,
+                    random.nextBoolean() ? ConferenceType.ACADEMIC.name() : ConferenceType.COMMERCIAL.name(),
+                    Date.valueOf(FIRST_DATE.plusDays(random.nextInt(DAYS))),
+                    30 + random.nextInt(150),
+                    random.nextInt(500),
+                    random.nextInt(5) == 0 ? null : 1 + random.nextInt(401) / 100.0,
+                    1L + random.nextInt(KEYNOTES)
+            });
+            if (batch.size() == 10_000 || id == rows) {
+                jdbcTemplate.batchUpdate("insert into conference (id, titre, type, date, duree, nombre_inscrits, score, "
+                        + "review_count, note_sum, keynote_id, version) values (?, ?, ?, ?, ?, ?, ?, 0, 0, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+        jdbcTemplate.execute("analyze");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public QueryPageDTO<ConferenceDTO> typeAndDateRange() {
+        LocalDate from = LocalDate.of(2024, 1, 1).plusMonths(nextVariant());
+        return conferenceService.queryConferences(ConferenceQueryDTO.builder()
+                .type(ConferenceType.ACADEMIC)
+                .from(from)
+                .to(from.plusMonths(3).minusDays(1))
+                .limit(PAGE_SIZE)
+                .build());
+    }
+
+    @Benchmark
+    public QueryPageDTO<ConferenceDTO> keynoteByDate() {
+        return conferenceService.queryConferences(ConferenceQueryDTO.builder()
+                .keynoteId(42L + nextVariant())
+                .minInscrits(100)
+                .limit(PAGE_SIZE)
+                .build());
+    }
+
+    @Benchmark
+    public QueryPageDTO<ConferenceDTO> topScores() {
+        return conferenceService.queryConferences(ConferenceQueryDTO.builder()
+                .minScore(4.5 + nextVariant() / 100.0)
+                .sort(ConferenceSortField.SCORE)
+                .direction(Sort.Direction.DESC)
+                .limit(PAGE_SIZE)
+                .build());
+    }
+
+    @Benchmark
+    public QueryPageDTO<ConferenceDTO> titreInDateRange() {
+        int variant = nextVariant();
+        LocalDate from = LocalDate.of(2024, 1, 1).plusMonths(variant);
+        return conferenceService.queryConferences(ConferenceQueryDTO.builder()
+                .titre(TOPICS[variant % TOPICS.length])
+                .from(from)
+                .to(from.plusMonths(1).minusDays(1))
+                .limit(PAGE_SIZE)
+                .build());
+    }
+
+    @Benchmark
+    public QueryPageDTO<ConferenceDTO> keysetDeepPage() {
+        return conferenceService.queryConferences(ConferenceQueryDTO.builder()
+                .after(deepCursors.get(nextVariant()))
+                .limit(PAGE_SIZE)
+                .build());
+    }
+
+    @Benchmark
+    public Page<Conference> offsetDeepPage() {
+        return conferenceRepository.findAll(ConferenceSpecifications.isNotNull("date"),
+                PageRequest.of(DEEP_PAGE + nextVariant() * 50, PAGE_SIZE, Sort.by("date", "id")));
+    }
+
+    private int nextVariant() {
+        return invocation++ % VARIANTS;
+    }
+}
@@ -0,0 +1,98 @@
+package ma.enset.benchmarks;
+
+import ma.enset.benchmarks.support.ConferenceServiceContext;
+import ma.enset.benchmarks.support.KeynoteStub;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent HTTP clients reading 50-conference pages with keynotes, through the blocking
+ * /api/conferences endpoint or the reactive /api/conferences/stream one, while a
+ * keynote-service stub answers after a fixed latency. The keynote cache is disabled so
+ * that every page waits on the stub. Tomcat is limited to fewer threads than there are
+ * clients, the situation of the default 200 threads under a few hundred clients.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class ConferenceStreamLoadBenchmark {
+
+    private static final int CONFERENCES = 10_000;
+    private static final int KEYNOTES = 500;
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"mvc", "reactive"})
+    private String stack;
+
+    @Param({"50"})
+    private long stubLatencyMillis;
+
+    @Param({"16"})
+    private int tomcatThreads;
+
+    private KeynoteStub keynoteStub;
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String pageUri;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        keynoteStub = new KeynoteStub(stubLatencyMillis, 256);
+        context = ConferenceServiceContext.startWebServer(keynoteStub.getUri(), Map.of(
+                "server.tomcat.threads.max", String.valueOf(tomcatThreads),
+                "spring.cache.caffeine.spec", "maximumSize=0",
+                "keynote.enrichment.max-in-flight", "64",
+                "keynote.enrichment.queue-capacity", "1000"));
+        seed(context.getBean(JdbcTemplate.class));
+
+        String path = "mvc".equals(stack) ? "/api/conferences" : "/api/conferences/stream";
+        pageUri = "http://localhost:" + ConferenceServiceContext.localPort(context) + path + "?limit=" + PAGE_SIZE + "&after=";
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>();
+        for (int id = 1; id <= CONFERENCES; id++) {
+            rows.add(new Object[]{(long) id, "Conference " + id, 1L + random.nextInt(KEYNOTES)});
+        }
+        jdbcTemplate.batchUpdate("insert into conference (id, titre, type, date, duree, nombre_inscrits, review_count, "
+                + "note_sum, keynote_id, version) values (?, ?, 'ACADEMIC', current_date, 60, 100, 0, 0, ?, 0)", rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        keynoteStub.close();
+    }
+
+    @Benchmark
+    public int page() throws IOException, InterruptedException {
+        long after = ThreadLocalRandom.current().nextInt(CONFERENCES - PAGE_SIZE);
+        HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(URI.create(pageUri + after)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
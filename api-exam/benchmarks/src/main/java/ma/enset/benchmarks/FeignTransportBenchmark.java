@@ -0,0 +1,68 @@
+package ma.enset.benchmarks;
+
+import ma.enset.benchmarks.support.ConferenceServiceContext;
+import ma.enset.benchmarks.support.KeynoteStub;
+import ma.enset.conferenceservice.clients.KeynoteClient;
+import ma.enset.conferenceservice.models.KeynoteDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * KeynoteClient calls to a local keynote-service stub that answers at once, over Feign's
+ * default HttpURLConnection client (urlConnection) or the pooled Apache HttpClient 5
+ * transport, with gzip answers (hc5Gzip) or without (hc5). keynoteById gets one keynote,
+ * batch 100 keynotes, about 12 KB of JSON that the stub gzips when asked to. One thread by
+ * default, so that the calls do not compete for the CPU; -t 8 for concurrent calls.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+// Without nodelay the stub's HttpServer answers in two segments and delayed ACKs add 40 ms to every call
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+@State(Scope.Benchmark)
+public class FeignTransportBenchmark {
+
+    private static final int KEYNOTES = 500;
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"urlConnection", "hc5", "hc5Gzip"})
+    private String transport;
+
+    private KeynoteStub keynoteStub;
+    private ConfigurableApplicationContext context;
+    private KeynoteClient keynoteClient;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        keynoteStub = new KeynoteStub(0);
+        context = ConferenceServiceContext.start(List.of(keynoteStub.getUri()),
+                Map.of("spring.cloud.openfeign.httpclient.hc5.enabled", String.valueOf(transport.startsWith("hc5")),
+                        "feign.accept-gzip", String.valueOf("hc5Gzip".equals(transport))));
+        keynoteClient = context.getBean(KeynoteClient.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        keynoteStub.close();
+    }
+
+    @Benchmark
+    public KeynoteDTO keynoteById() {
+        return keynoteClient.getKeynoteById(ThreadLocalRandom.current().nextLong(1, KEYNOTES + 1));
+    }
+
+    @Benchmark
+    public List<KeynoteDTO> batch() {
+        long first = ThreadLocalRandom.current().nextLong(1, KEYNOTES - BATCH_SIZE + 2);
+        return keynoteClient.getKeynotesByIds(LongStream.range(first, first + BATCH_SIZE).boxed().toList());
+    }
+}
@@ -0,0 +1,89 @@
+package ma.enset.benchmarks;
+
+import ma.enset.benchmarks.support.ConferenceServiceContext;
+import ma.enset.benchmarks.support.KeynoteStub;
+import ma.enset.conferenceservice.clients.CachedKeynoteClient;
+import ma.enset.conferenceservice.dtos.ConferenceDTO;
+import ma.enset.conferenceservice.entities.Conference;
+import ma.enset.conferenceservice.enums.ConferenceType;
+import ma.enset.conferenceservice.repositories.ConferenceRepository;
+import ma.enset.conferenceservice.services.ConferenceService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ConferenceService.getAllConferencesWithKeynotes against a local keynote-service stub,
+ * with the keynote cache either warm or cleared before every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeynoteEnrichmentBenchmark {
+
+    private static final int KEYNOTES = 500;
+
+    @Param({"100", "1000"})
+    private int conferences;
+
+    @Param({"0", "5"})
+    private long stubLatencyMillis;
+
+    @Param({"true", "false"})
+    private boolean warmCache;
+
+    private KeynoteStub keynoteStub;
+    private ConfigurableApplicationContext context;
+    private ConferenceService conferenceService;
+    private CachedKeynoteClient cachedKeynoteClient;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        keynoteStub = new KeynoteStub(stubLatencyMillis);
+        context = ConferenceServiceContext.start(keynoteStub.getUri());
+        conferenceService = context.getBean(ConferenceService.class);
+        cachedKeynoteClient = context.getBean(CachedKeynoteClient.class);
+
+        Random random = new Random(42);
+        ConferenceType[] types = ConferenceType.values();
+        List<Conference> rows = new ArrayList<>(conferences);
+        for (int i = 0; i < conferences; i++) {
+            rows.add(Conference.builder()
+                    .titre("Conference " + i)
+                    .type(types[random.nextInt(types.length)])
+                    .date(LocalDate.of(2024, 1, 1).plusDays(random.nextInt(365)))
+                    .duree(30 + random.nextInt(90))
+                    .nombreInscrits(random.nextInt(500))
+                    .keynoteId(1 + (long) random.nextInt(KEYNOTES))
+                    .build());
+        }
+        context.getBean(ConferenceRepository.class).saveAll(rows);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetCache() {
+        if (!warmCache) {
+            cachedKeynoteClient.evictAll();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        keynoteStub.close();
+    }
+
+    @Benchmark
+    public List<ConferenceDTO> getAllConferencesWithKeynotes() {
+        return conferenceService.getAllConferencesWithKeynotes();
+    }
+}
@@ -0,0 +1,93 @@
+package ma.enset.benchmarks;
+
+import ma.enset.benchmarks.support.ConferenceServiceContext;
+import ma.enset.benchmarks.support.KeynoteStub;
+import ma.enset.conferenceservice.clients.KeynoteClient;
+import ma.enset.conferenceservice.models.KeynoteDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * KeynoteClient calls from 8 threads over three local keynote-service stubs, two answering
+ * in 5 ms and a degraded one that either answers in 50 ms (slow) or fails at once with 503
+ * (failing), balanced round-robin or by PeakEwmaLoadBalancer. The share of calls the
+ * degraded stub received and of answers that were the circuit breaker's fallback are
+ * printed after each iteration.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+// Without nodelay the stubs' HttpServer answers in two segments and delayed ACKs add 40 ms to every call
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+@Threads(8)
+@State(Scope.Benchmark)
+public class LoadBalancerBenchmark {
+
+    private static final int KEYNOTES = 500;
+
+    @Param({"roundRobin", "peakEwma"})
+    private String balancer;
+
+    @Param({"slow", "failing"})
+    private String degraded;
+
+    private KeynoteStub fast1;
+    private KeynoteStub fast2;
+    private KeynoteStub degradedStub;
+    private ConfigurableApplicationContext context;
+    private KeynoteClient keynoteClient;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private long degradedBefore;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        fast1 = new KeynoteStub(5);
+        fast2 = new KeynoteStub(5);
+        degradedStub = "slow".equals(degraded) ? new KeynoteStub(50) : new KeynoteStub(0, 16, true);
+        context = ConferenceServiceContext.start(
+                List.of(fast1.getUri(), fast2.getUri(), degradedStub.getUri()),
+                Map.of("load-balancer.peak-ewma.enabled", String.valueOf("peakEwma".equals(balancer))));
+        keynoteClient = context.getBean(KeynoteClient.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounts() {
+        calls.reset();
+        fallbacks.reset();
+        degradedBefore = degradedStub.getRequests();
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        long total = calls.sum();
+        System.out.printf("Calls to the degraded instance: %.1f%%, fallback answers: %.1f%%%n",
+                100.0 * (degradedStub.getRequests() - degradedBefore) / total, 100.0 * fallbacks.sum() / total);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        fast1.close();
+        fast2.close();
+        degradedStub.close();
+    }
+
+    @Benchmark
+    public KeynoteDTO getKeynoteById() {
+        calls.increment();
+        KeynoteDTO keynote = keynoteClient.getKeynoteById(ThreadLocalRandom.current().nextLong(1, KEYNOTES + 1));
+        if ("N/A".equals(keynote.getNom())) {
+            fallbacks.increment();
+        }
+        return keynote;
+    }
+}
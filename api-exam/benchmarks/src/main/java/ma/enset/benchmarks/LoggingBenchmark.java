@@ -0,0 +1,164 @@
+package ma.enset.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import ma.enset.benchmarks.support.ConferenceServiceContext;
+import ma.enset.conferenceservice.dtos.ConferenceDTO;
+import ma.enset.conferenceservice.services.ConferenceService;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Conference reads from 8 threads while the service logs one line per call, as every read
+ * method did at INFO before, either written synchronously by a console appender (syncPlain)
+ * or handed to the async JSON appender of logback-spring.xml (asyncJson), against the reads
+ * as they are now, whose line is at DEBUG and skipped (debugOff). line times the log call
+ * alone, which is what each request thread pays. The console is /dev/null, written once per
+ * event like a real console. Lines the async appender dropped because its queue was full are
+ * printed after each iteration.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    private static final int CONFERENCES = 1_000;
+    private static final String CONSOLE_PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %pid --- [%15.15t] %-40.40logger{39} : %m%n";
+
+    @Param({"syncPlain", "asyncJson", "debugOff"})
+    private String logging;
+
+    private ConfigurableApplicationContext context;
+    private ConferenceService conferenceService;
+    private Logger serviceLogger;
+    private org.slf4j.Logger readLogger;
+    private Appender<ILoggingEvent> appender;
+    private AsyncAppender asyncAppender;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder lines = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setUp() throws FileNotFoundException {
+        context = ConferenceServiceContext.start();
+        conferenceService = context.getBean(ConferenceService.class);
+        seed(context.getBean(JdbcTemplate.class));
+
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+        console.setContext(loggerContext);
+        console.setEncoder("asyncJson".equals(logging) ? jsonEncoder(loggerContext) : plainEncoder(loggerContext));
+        console.setOutputStream(new CountingStream(new FileOutputStream("/dev/null")));
+        console.start();
+        if ("asyncJson".equals(logging)) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(loggerContext);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(console);
+            async.start();
+            asyncAppender = async;
+            appender = async;
+        } else {
+            appender = console;
+        }
+
+        serviceLogger = loggerContext.getLogger("ma.enset.conferenceservice.services");
+        serviceLogger.setLevel("debugOff".equals(logging)
+                ? ch.qos.logback.classic.Level.INFO
+                : ch.qos.logback.classic.Level.DEBUG);
+        serviceLogger.setAdditive(false);
+        serviceLogger.addAppender(appender);
+        readLogger = LoggerFactory.getLogger("ma.enset.conferenceservice.services.ConferenceServiceImpl");
+    }
+
+    private static Encoder<ILoggingEvent> plainEncoder(LoggerContext loggerContext) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern(CONSOLE_PATTERN);
+        encoder.start();
+        return encoder;
+    }
+
+    private static Encoder<ILoggingEvent> jsonEncoder(LoggerContext loggerContext) {
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setCustomFields("{\"service\":\"conference-service\"}");
+        encoder.start();
+        return encoder;
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int id = 1; id <= CONFERENCES; id++) {
+            rows.add(new Object[]{(long) id, "Conference " + id});
+        }
+        jdbcTemplate.batchUpdate("insert into conference (id, titre, type, date, duree, nombre_inscrits, review_count, "
+                + "note_sum, version) values (?, ?, 'ACADEMIC', current_date, 60, 100, 0, 0, 0)", rows);
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        if (asyncAppender != null) {
+            long dropped = calls.sumThenReset() - lines.sumThenReset() - asyncAppender.getNumberOfElementsInQueue();
+            System.out.println("Lines dropped by the async appender: " + Math.max(dropped, 0));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        serviceLogger.detachAppender(appender);
+        appender.stop();
+        context.close();
+    }
+
+    @Benchmark
+    public ConferenceDTO read() {
+        calls.increment();
+        return conferenceService.getConferenceById(ThreadLocalRandom.current().nextLong(1, CONFERENCES + 1));
+    }
+
+    @Benchmark
+    public void line() {
+        calls.increment();
+        readLogger.debug("Getting conference with id: {}", ThreadLocalRandom.current().nextLong(1, CONFERENCES + 1));
+    }
+
+    // One write per encoded event, as a console appender with immediate flush does
+    private class CountingStream extends FilterOutputStream {
+
+        CountingStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            lines.increment();
+            out.write(bytes, offset, length);
+        }
+    }
+}
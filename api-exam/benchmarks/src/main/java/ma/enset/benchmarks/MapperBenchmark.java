@@ -0,0 +1,99 @@
+package ma.enset.benchmarks;
+
+import ma.enset.conferenceservice.dtos.ConferenceDTO;
+import ma.enset.conferenceservice.dtos.ReviewDTO;
+import ma.enset.conferenceservice.entities.Conference;
+import ma.enset.conferenceservice.entities.Review;
+import ma.enset.conferenceservice.enums.ConferenceType;
+import ma.enset.conferenceservice.mappers.ConferenceMapper;
+import ma.enset.conferenceservice.mappers.ConferenceMapperImpl;
+import ma.enset.conferenceservice.mappers.ReviewMapper;
+import ma.enset.conferenceservice.mappers.ReviewMapperImpl;
+import ma.enset.conferenceservice.projections.ConferenceSummary;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct conversions used by every listing endpoint: entities and summary projections
+ * to ConferenceDTO, and reviews to ReviewDTO.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private final ConferenceMapper conferenceMapper = new ConferenceMapperImpl();
+    private final ReviewMapper reviewMapper = new ReviewMapperImpl();
+
+    private List<Conference> conferences;
+    private List<ConferenceSummary> summaries;
+    private List<Review> reviews;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Fixed seed so every run maps the same data
+        Random random = new Random(42);
+        ConferenceType[] types = ConferenceType.values();
+        conferences = new ArrayList<>(size);
+        summaries = new ArrayList<>(size);
+        reviews = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            Conference conference = Conference.builder()
+                    .id(id)
+                    .titre("Conference " + id)
+                    .type(types[random.nextInt(types.length)])
+                    .date(LocalDate.of(2024, 1, 1).plusDays(random.nextInt(365)))
+                    .duree(30 + random.nextInt(90))
+                    .nombreInscrits(random.nextInt(500))
+                    .score(1 + random.nextInt(400) / 100.0)
+                    .reviewCount(random.nextInt(50))
+                    .keynoteId(1 + (long) random.nextInt(200))
+                    .build();
+            conferences.add(conference);
+            summaries.add(new Summary(conference));
+            reviews.add(Review.builder()
+                    .id(id)
+                    .date(conference.getDate())
+                    .texte("Review " + id)
+                    .note(1 + random.nextInt(5))
+                    .conference(conference)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<ConferenceDTO> conferencesToDTOList() {
+        return conferenceMapper.toDTOList(conferences);
+    }
+
+    @Benchmark
+    public List<ConferenceDTO> summariesToDTOList() {
+        return conferenceMapper.summariesToDTOList(summaries);
+    }
+
+    @Benchmark
+    public List<ReviewDTO> reviewsToDTOList() {
+        return reviewMapper.toDTOList(reviews);
+    }
+
+    private record Summary(Long getId, String getTitre, ConferenceType getType, LocalDate getDate,
+                           Integer getDuree, Integer getNombreInscrits, Double getScore,
+                           Integer getReviewCount, Long getKeynoteId, Long getVersion) implements ConferenceSummary {
+
+        Summary(Conference c) {
+            this(c.getId(), c.getTitre(), c.getType(), c.getDate(), c.getDuree(), c.getNombreInscrits(),
+                    c.getScore(), c.getReviewCount(), c.getKeynoteId(), c.getVersion());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package ma.enset.benchmarks;
+
+import ma.enset.benchmarks.support.ConferenceServiceContext;
+import ma.enset.conferenceservice.dtos.ConferenceDTO;
+import ma.enset.conferenceservice.dtos.ConferenceQueryDTO;
+import ma.enset.conferenceservice.dtos.QueryPageDTO;
+import ma.enset.conferenceservice.dtos.ReviewDTO;
+import ma.enset.conferenceservice.entities.Conference;
+import ma.enset.conferenceservice.entities.Review;
+import ma.enset.conferenceservice.enums.ConferenceType;
+import ma.enset.conferenceservice.repositories.ConferenceRepository;
+import ma.enset.conferenceservice.repositories.ReviewRepository;
+import ma.enset.conferenceservice.services.ConferenceService;
+import ma.enset.conferenceservice.services.ReviewService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Service reads that load entities, in the read-only transactions they now declare or, as
+ * before, in a read-write transaction (readWrite): the service method then joins the outer
+ * transaction, whose session keeps a snapshot of every loaded entity and dirty-checks them
+ * when it flushes at commit. Run with -prof gc for the allocation per read.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 15, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadOnlyTransactionBenchmark {
+
+    private static final int CONFERENCES = 1_000;
+    private static final int REVIEWS = 200;
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"readOnly", "readWrite"})
+    private String transaction;
+
+    private ConfigurableApplicationContext context;
+    private ConferenceService conferenceService;
+    private ReviewService reviewService;
+    private TransactionTemplate readWriteTemplate;
+
+    private Long conferenceId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ConferenceServiceContext.start();
+        conferenceService = context.getBean(ConferenceService.class);
+        reviewService = context.getBean(ReviewService.class);
+        readWriteTemplate = context.getBean(TransactionTemplate.class);
+
+        List<Conference> conferences = new ArrayList<>(CONFERENCES);
+        for (int i = 0; i < CONFERENCES; i++) {
+            conferences.add(Conference.builder()
+                    .titre("Conference " + i)
+                    .type(ConferenceType.values()[i % ConferenceType.values().length])
+                    .date(LocalDate.of(2024, 1, 1).plusDays(i % 365))
+                    .duree(60)
+                    .nombreInscrits(100)
+                    .build());
+        }
+        Conference conference = context.getBean(ConferenceRepository.class).saveAll(conferences).get(0);
+        conferenceId = conference.getId();
+
+        List<Review> reviews = new ArrayList<>(REVIEWS);
+        for (int i = 0; i < REVIEWS; i++) {
+            reviews.add(Review.builder()
+                    .date(conference.getDate())
+                    .texte("Review " + i)
+                    .note(1 + i % 5)
+                    .conference(conference)
+                    .build());
+        }
+        context.getBean(ReviewRepository.class).saveAll(reviews);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ConferenceDTO conference() {
+        return read(() -> conferenceService.getConferenceById(conferenceId));
+    }
+
+    @Benchmark
+    public QueryPageDTO<ConferenceDTO> conferencePage() {
+        ConferenceQueryDTO query = new ConferenceQueryDTO();
+        query.setLimit(PAGE_SIZE);
+        return read(() -> conferenceService.queryConferences(query));
+    }
+
+    @Benchmark
+    public List<ReviewDTO> reviews() {
+        return read(() -> reviewService.getReviewsByConferenceId(conferenceId));
+    }
+
+    private <T> T read(Supplier<T> call) {
+        return "readWrite".equals(transaction) ? readWriteTemplate.execute(status -> call.get()) : call.get();
+    }
+}
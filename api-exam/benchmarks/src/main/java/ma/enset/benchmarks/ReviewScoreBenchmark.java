@@ -0,0 +1,116 @@
+package ma.enset.benchmarks;
+
+import ma.enset.benchmarks.support.ConferenceServiceContext;
+import ma.enset.conferenceservice.dtos.ReviewDTO;
+import ma.enset.conferenceservice.entities.Conference;
+import ma.enset.conferenceservice.entities.Review;
+import ma.enset.conferenceservice.enums.ConferenceType;
+import ma.enset.conferenceservice.repositories.ConferenceRepository;
+import ma.enset.conferenceservice.repositories.ReviewRepository;
+import ma.enset.conferenceservice.services.ReviewService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of keeping a conference score up to date when one of its reviews changes, as a
+ * function of how many reviews the conference already has. fullRescan reproduces the
+ * former recompute-from-all-reviews approach as a baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReviewScoreBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int reviewCount;
+
+    private ConfigurableApplicationContext context;
+    private ReviewService reviewService;
+    private ReviewRepository reviewRepository;
+    private ConferenceRepository conferenceRepository;
+    private TransactionTemplate transactionTemplate;
+
+    private Long conferenceId;
+    private Long reviewId;
+    private int invocation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ConferenceServiceContext.start();
+        reviewService = context.getBean(ReviewService.class);
+        reviewRepository = context.getBean(ReviewRepository.class);
+        conferenceRepository = context.getBean(ConferenceRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        Conference conference = conferenceRepository.save(Conference.builder()
+                .titre("Benchmark conference")
+                .type(ConferenceType.ACADEMIC)
+                .date(LocalDate.of(2024, 6, 1))
+                .duree(60)
+                .nombreInscrits(100)
+                .build());
+        conferenceId = conference.getId();
+
+        Random random = new Random(42);
+        List<Review> reviews = new ArrayList<>(reviewCount);
+        for (int i = 0; i < reviewCount; i++) {
+            reviews.add(Review.builder()
+                    .date(conference.getDate())
+                    .texte("Review " + i)
+                    .note(1 + random.nextInt(5))
+                    .conference(conference)
+                    .build());
+        }
+        reviewId = reviewRepository.saveAll(reviews).get(0).getId();
+        reviewService.repairConferenceScores();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ReviewDTO updateReview() {
+        return reviewService.updateReview(reviewId, ReviewDTO.builder()
+                .texte("Updated review")
+                .note(nextNote())
+                .build());
+    }
+
+    @Benchmark
+    public void addAndDeleteReview() {
+        ReviewDTO saved = reviewService.saveReview(conferenceId, ReviewDTO.builder()
+                .texte("Transient review")
+                .note(nextNote())
+                .build());
+        reviewService.deleteReview(saved.getId());
+    }
+
+    @Benchmark
+    public Double fullRescan() {
+        return transactionTemplate.execute(status -> {
+            Conference conference = conferenceRepository.findById(conferenceId).orElseThrow();
+            double average = reviewRepository.findByConferenceId(conferenceId).stream()
+                    .mapToInt(Review::getNote)
+                    .average()
+                    .orElse(0.0);
+            conference.setScore(Math.round(average * 100.0) / 100.0);
+            return conference.getScore();
+        });
+    }
+
+    private int nextNote() {
+        return 1 + (invocation++ % 5);
+    }
+}
@@ -0,0 +1,111 @@
+package ma.enset.benchmarks;
+
+import ma.enset.benchmarks.support.ConferenceServiceContext;
+import ma.enset.benchmarks.support.KeynoteStub;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many concurrent users reading conference pages with keynotes through the blocking
+ * /api/conferences endpoint, with request handling, the transactional service calls and
+ * the Feign calls to a slow keynote-service stub on the default platform threads or on
+ * virtual threads. Throughput and SampleTime together give pages per second and the
+ * latency percentiles; run with -t 5000 for the 5k users case. The virtual case needs
+ * a JDK 21 runtime. Pages whose keynotes missed the enrichment deadline are counted
+ * apart, as degraded.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(1000)
+@State(Scope.Benchmark)
+public class VirtualThreadLoadBenchmark {
+
+    private static final int CONFERENCES = 10_000;
+    private static final int KEYNOTES = 500;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"platform", "virtual"})
+    private String threading;
+
+    @Param({"50"})
+    private long stubLatencyMillis;
+
+    private KeynoteStub keynoteStub;
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String pageUri;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        boolean virtual = "virtual".equals(threading);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need a JDK 21 runtime, found " + Runtime.version());
+        }
+        keynoteStub = new KeynoteStub(stubLatencyMillis, 256);
+        context = ConferenceServiceContext.startWebServer(keynoteStub.getUri(), Map.of(
+                "spring.threads.virtual.enabled", String.valueOf(virtual),
+                "spring.cache.caffeine.spec", "maximumSize=0",
+                "keynote.enrichment.max-in-flight", "256",
+                "keynote.enrichment.queue-capacity", "5000"));
+        seed(context.getBean(JdbcTemplate.class));
+
+        pageUri = "http://localhost:" + ConferenceServiceContext.localPort(context)
+                + "/api/conferences?withKeynotes=true&limit=" + PAGE_SIZE + "&after=";
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>();
+        for (int id = 1; id <= CONFERENCES; id++) {
+            rows.add(new Object[]{(long) id, "Conference " + id, 1L + random.nextInt(KEYNOTES)});
+        }
+        jdbcTemplate.batchUpdate("insert into conference (id, titre, type, date, duree, nombre_inscrits, review_count, "
+                + "note_sum, keynote_id, version) values (?, ?, 'ACADEMIC', current_date, 60, 100, 0, 0, ?, 0)", rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        keynoteStub.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Pages {
+
+        public long degraded;
+    }
+
+    @Benchmark
+    public int page(Pages pages) throws IOException, InterruptedException {
+        long after = ThreadLocalRandom.current().nextInt(CONFERENCES - PAGE_SIZE);
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(pageUri + after)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        if (response.body().contains("\"keynoteDegraded\":true")) {
+            pages.degraded++;
+        }
+        return response.body().length();
+    }
+}
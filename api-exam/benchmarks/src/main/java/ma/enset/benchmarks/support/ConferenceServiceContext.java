@@ -0,0 +1,72 @@
+package ma.enset.benchmarks.support;
+
+import ma.enset.conferenceservice.ConferenceServiceApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots conference-service without a web server, Eureka or the config server, so that
+ * benchmarks exercise the real service beans against the in-memory database. The keynote
+ * replica stays off so that keynotes are fetched from the given keynote-service.
+ */
+public final class ConferenceServiceContext {
+
+    private ConferenceServiceContext() {
+    }
+
+    public static ConfigurableApplicationContext start() {
+        return run(builder(), Map.of());
+    }
+
+    // KEYNOTE-SERVICE resolves to the given URI through the simple discovery client
+    public static ConfigurableApplicationContext start(String keynoteServiceUri) {
+        return run(builder(), Map.of("spring.cloud.discovery.client.simple.instances[KEYNOTE-SERVICE][0].uri",
+                keynoteServiceUri));
+    }
+
+    // Same, with Tomcat on a random port for benchmarks that go through HTTP, see localPort
+    public static ConfigurableApplicationContext startWebServer(String keynoteServiceUri, Map<String, String> properties) {
+        Map<String, String> all = new HashMap<>(properties);
+        all.put("spring.cloud.discovery.client.simple.instances[KEYNOTE-SERVICE][0].uri", keynoteServiceUri);
+        all.put("server.port", "0");
+        return run(builder().web(WebApplicationType.SERVLET), all);
+    }
+
+    public static int localPort(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    // KEYNOTE-SERVICE resolves to several instances, for benchmarks of the load balancer
+    public static ConfigurableApplicationContext start(List<String> keynoteServiceUris, Map<String, String> properties) {
+        Map<String, String> all = new HashMap<>(properties);
+        for (int i = 0; i < keynoteServiceUris.size(); i++) {
+            all.put("spring.cloud.discovery.client.simple.instances[KEYNOTE-SERVICE][" + i + "].uri",
+                    keynoteServiceUris.get(i));
+        }
+        return run(builder(), all);
+    }
+
+    private static SpringApplicationBuilder builder() {
+        return new SpringApplicationBuilder(ConferenceServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(Map.of(
+                        "eureka.client.enabled", "false",
+                        "spring.main.banner-mode", "off",
+                        "logging.level.root", "WARN",
+                        "logging.level.ma.enset", "WARN"));
+    }
+
+    // Passed as command-line arguments: default properties would lose to application.yml
+    private static ConfigurableApplicationContext run(SpringApplicationBuilder builder, Map<String, String> properties) {
+        Map<String, String> all = new HashMap<>(properties);
+        all.put("keynote.replica.enabled", "false");
+        return builder.run(all.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new));
+    }
+}
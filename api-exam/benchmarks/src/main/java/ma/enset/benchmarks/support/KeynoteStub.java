@@ -0,0 +1,129 @@
+package ma.enset.benchmarks.support;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import ma.enset.conferenceservice.models.KeynoteDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Minimal in-process stand-in for keynote-service, answering the two endpoints used by
+ * KeynoteClient with synthetic keynotes after a fixed latency, or with 503 when failing.
+ * Like keynote-service, it gzips answers of 2 KB or more for clients that accept it.
+ */
+public class KeynoteStub implements AutoCloseable {
+
+    private static final int GZIP_MIN_SIZE = 2048;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMillis;
+    private final boolean failing;
+    private final LongAdder requests = new LongAdder();
+
+    public KeynoteStub(long latencyMillis) throws IOException {
+        this(latencyMillis, 16);
+    }
+
+    public KeynoteStub(long latencyMillis, int threads) throws IOException {
+        this(latencyMillis, threads, false);
+    }
+
+    public KeynoteStub(long latencyMillis, int threads, boolean failing) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.failing = failing;
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/api/keynotes", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    public String getUri() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.increment();
+            pause();
+            if (failing) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            Object body;
+            if ("POST".equals(exchange.getRequestMethod()) && path.endsWith("/batch")) {
+                List<Long> ids = objectMapper.readValue(exchange.getRequestBody(), new TypeReference<>() {});
+                body = ids.stream().map(KeynoteStub::keynote).toList();
+            } else if ("GET".equals(exchange.getRequestMethod())) {
+                body = keynote(Long.valueOf(path.substring(path.lastIndexOf('/') + 1)));
+            } else {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (json.length >= GZIP_MIN_SIZE && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                json = gzip(json);
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            }
+            exchange.sendResponseHeaders(200, json.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(json);
+            }
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(bytes);
+        }
+        return buffer.toByteArray();
+    }
+
+    private void pause() {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static KeynoteDTO keynote(Long id) {
+        return KeynoteDTO.builder()
+                .id(id)
+                .nom("Nom" + id)
+                .prenom("Prenom" + id)
+                .email("keynote" + id + "@enset.ma")
+                .fonction("Speaker")
+                .build();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
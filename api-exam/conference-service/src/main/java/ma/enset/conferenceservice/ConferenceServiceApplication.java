@@ -2,12 +2,18 @@ package ma.enset.conferenceservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// The R2DBC pool is built by R2dbcConfig, see there
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 @EnableDiscoveryClient
 @EnableFeignClients
+@EnableCaching
+@EnableScheduling
 public class ConferenceServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,84 @@
+package ma.enset.conferenceservice.clients;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.enset.conferenceservice.models.KeynoteDTO;
+import ma.enset.conferenceservice.models.KeynoteLookup;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local cache in front of {@link KeynoteClient}. Entries are bounded and expire
+ * according to spring.cache.caffeine.spec, and are evicted by keynote-service
+ * whenever a keynote is updated or deleted.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CachedKeynoteClient {
+
+    public static final String CACHE_NAME = "keynotes";
+
+    private final KeynoteClient keynoteClient;
+    private final KeynoteBatchLoader keynoteBatchLoader;
+    private final CacheManager cacheManager;
+
+    // Changes whenever a cached keynote is evicted; seeded with the boot time so it never repeats across restarts
+    private final AtomicLong generation = new AtomicLong(System.currentTimeMillis());
+
+    @Cacheable(cacheNames = CACHE_NAME, unless = "#result == null")
+    public KeynoteDTO getKeynoteById(Long id) {
+        return keynoteClient.getKeynoteById(id);
+    }
+
+    // Serves cached keynotes locally and fetches the misses through the batch loader
+    public KeynoteLookup getKeynotesByIds(Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        Map<Long, KeynoteDTO> keynotes = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            KeynoteDTO cached = cache != null ? cache.get(id, KeynoteDTO.class) : null;
+            if (cached != null) {
+                keynotes.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        KeynoteLookup fetched = keynoteBatchLoader.load(misses);
+        fetched.keynotes().forEach((id, keynote) -> {
+            keynotes.put(id, keynote);
+            if (cache != null) {
+                cache.put(id, keynote);
+            }
+        });
+        return new KeynoteLookup(keynotes, fetched.degraded());
+    }
+
+    @CacheEvict(cacheNames = CACHE_NAME)
+    public void evict(Long id) {
+        log.info("Evicting cached keynote with id: {}", id);
+        generation.incrementAndGet();
+    }
+
+    @CacheEvict(cacheNames = CACHE_NAME, allEntries = true)
+    public void evictAll() {
+        log.info("Evicting all cached keynotes");
+        generation.incrementAndGet();
+    }
+
+    // Lets conference ETags change when an embedded keynote does
+    public long getGeneration() {
+        return generation.get();
+    }
+}
@@ -0,0 +1,56 @@
+package ma.enset.conferenceservice.clients;
+
+import feign.RequestTemplate;
+import feign.Response;
+import feign.micrometer.FeignContext;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Adds the outcome, the Feign client and the state of the method's circuit breaker to the
+ * http.client.requests observations of Feign calls, so that the keynote-service timers can
+ * be split between answers, failures and calls made while the breaker was half open.
+ * Calls the breaker refused never reach Feign: they are in resilience4j.circuitbreaker.calls.
+ */
+@Component
+@RequiredArgsConstructor
+public class FeignObservationFilter implements ObservationFilter {
+
+    private static final String NO_CIRCUIT_BREAKER = "NONE";
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Override
+    public Observation.Context map(Observation.Context context) {
+        if (!(context instanceof FeignContext feignContext)) {
+            return context;
+        }
+        RequestTemplate template = feignContext.getCarrier().requestTemplate();
+        Response response = feignContext.getResponse();
+        Outcome outcome = response != null ? Outcome.forStatus(response.status()) : Outcome.UNKNOWN;
+        feignContext.addLowCardinalityKeyValue(KeyValue.of("outcome", outcome.name()));
+        feignContext.addLowCardinalityKeyValue(KeyValue.of("client", template.feignTarget().name()));
+        feignContext.addLowCardinalityKeyValue(KeyValue.of("circuit.breaker.state",
+                circuitBreakerState(template.methodMetadata().method())));
+        return context;
+    }
+
+    // The aspect records the call after Feign returns, so this is the state the call was let through in
+    private String circuitBreakerState(Method method) {
+        CircuitBreaker annotation = method.getAnnotation(CircuitBreaker.class);
+        if (annotation == null) {
+            return NO_CIRCUIT_BREAKER;
+        }
+        return circuitBreakerRegistry.find(annotation.name())
+                .map(circuitBreaker -> circuitBreaker.getState().name())
+                .orElse(NO_CIRCUIT_BREAKER);
+    }
+}
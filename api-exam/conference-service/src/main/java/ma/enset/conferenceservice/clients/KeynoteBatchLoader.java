@@ -0,0 +1,164 @@
+package ma.enset.conferenceservice.clients;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import ma.enset.conferenceservice.logging.SampledLogger;
+import ma.enset.conferenceservice.models.KeynoteDTO;
+import ma.enset.conferenceservice.models.KeynoteLookup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fetches keynotes through the batch endpoint, one call per chunk of ids. Chunks are
+ * fetched concurrently on a bounded pool shared by all requests, and whatever has not
+ * arrived when the deadline hits is dropped and reported as degraded. With
+ * spring.threads.virtual.enabled on JDK 21 the pool threads are virtual, so a blocked
+ * call no longer holds a platform thread; the pool then only bounds the fan-out.
+ * Each fan-out is a keynote.enrichment observation, timed by outcome and traced as a
+ * span that parents the batch calls, which carry the caller's context onto the pool.
+ */
+@Component
+@Slf4j
+public class KeynoteBatchLoader {
+
+    private static final SampledLogger deadlineLog = new SampledLogger(log);
+    private static final SampledLogger keynoteErrorLog = new SampledLogger(log);
+
+    private final KeynoteClient keynoteClient;
+    private final ObservationRegistry observationRegistry;
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService contextExecutor;
+    private final int batchSize;
+    private final Duration deadline;
+    private final DistributionSummary fanOut;
+
+    public KeynoteBatchLoader(KeynoteClient keynoteClient,
+                              MeterRegistry meterRegistry,
+                              ObservationRegistry observationRegistry,
+                              Environment environment,
+                              @Value("${keynote.batch-size:100}") int batchSize,
+                              @Value("${keynote.enrichment.max-in-flight:8}") int maxInFlight,
+                              @Value("${keynote.enrichment.queue-capacity:500}") int queueCapacity,
+                              @Value("${keynote.enrichment.deadline:2s}") Duration deadline) {
+        this.keynoteClient = keynoteClient;
+        this.observationRegistry = observationRegistry;
+        this.batchSize = batchSize;
+        this.deadline = deadline;
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = Threading.VIRTUAL.isActive(environment)
+                ? new VirtualThreadTaskExecutor("keynote-enrichment-").getVirtualThreadFactory()
+                : runnable -> {
+                    Thread thread = new Thread(runnable, "keynote-enrichment-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                };
+        this.executor = new ThreadPoolExecutor(maxInFlight, maxInFlight, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+        this.executor.allowCoreThreadTimeOut(true);
+        ContextSnapshotFactory snapshotFactory = ContextSnapshotFactory.builder().build();
+        this.contextExecutor = ContextExecutorService.wrap(executor, snapshotFactory::captureAll);
+        this.fanOut = DistributionSummary.builder("keynote.enrichment.fanout")
+                .description("Number of remote batch calls issued per enrichment")
+                .register(meterRegistry);
+    }
+
+    public KeynoteLookup load(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new KeynoteLookup(Map.of(), false);
+        }
+        Observation observation = Observation.createNotStarted("keynote.enrichment", observationRegistry)
+                .contextualName("keynote-enrichment")
+                .highCardinalityKeyValue("keynote.ids", String.valueOf(ids.size()))
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            KeynoteLookup lookup = load(ids, observation);
+            observation.lowCardinalityKeyValue("outcome", lookup.degraded() ? "degraded" : "complete");
+            return lookup;
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    private KeynoteLookup load(List<Long> ids, Observation observation) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            chunks.add(new ArrayList<>(ids.subList(from, Math.min(from + batchSize, ids.size()))));
+        }
+        fanOut.record(chunks.size());
+        observation.highCardinalityKeyValue("keynote.fanout", String.valueOf(chunks.size()));
+
+        List<CompletableFuture<List<KeynoteDTO>>> calls = chunks.stream()
+                .map(this::submit)
+                .toList();
+        try {
+            CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new))
+                    .get(deadline.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            deadlineLog.warn("Keynote enrichment deadline of {} hit, returning partial results", deadline);
+        } catch (ExecutionException e) {
+            // Failed chunks are reported one by one below
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Map<Long, KeynoteDTO> keynotes = new HashMap<>();
+        boolean degraded = false;
+        for (int i = 0; i < calls.size(); i++) {
+            CompletableFuture<List<KeynoteDTO>> call = calls.get(i);
+            if (!call.isDone()) {
+                call.cancel(true);
+                degraded = true;
+            } else {
+                try {
+                    call.join().forEach(keynote -> keynotes.put(keynote.getId(), keynote));
+                } catch (CompletionException e) {
+                    degraded = true;
+                    keynoteErrorLog.error("Error fetching keynotes {}: {}", chunks.get(i), e.getCause().getMessage());
+                }
+            }
+        }
+        return new KeynoteLookup(keynotes, degraded);
+    }
+
+    private CompletableFuture<List<KeynoteDTO>> submit(List<Long> chunk) {
+        try {
+            return CompletableFuture.supplyAsync(() -> keynoteClient.getKeynotesByIds(chunk), contextExecutor);
+        } catch (RuntimeException e) {
+            // Queue full: the chunk is reported as failed instead of blocking the request
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
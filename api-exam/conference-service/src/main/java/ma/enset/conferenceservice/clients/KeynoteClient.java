@@ -2,9 +2,14 @@ package ma.enset.conferenceservice.clients;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import ma.enset.conferenceservice.models.KeynoteDTO;
+import ma.enset.conferenceservice.models.KeynoteEventPageDTO;
+import ma.enset.conferenceservice.models.KeynoteSnapshotDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
 
@@ -19,6 +24,17 @@ public interface KeynoteClient {
     @CircuitBreaker(name = "keynoteClient", fallbackMethod = "getAllKeynotesFallback")
     List<KeynoteDTO> getAllKeynotes();
 
+    @PostMapping("/api/keynotes/batch")
+    @CircuitBreaker(name = "keynoteClient", fallbackMethod = "getKeynotesByIdsFallback")
+    List<KeynoteDTO> getKeynotesByIds(@RequestBody List<Long> ids);
+
+    // No fallbacks below: the replica must see an outage as a failure, not as an empty feed
+    @GetMapping("/api/keynotes/events")
+    KeynoteEventPageDTO getKeynoteEvents(@RequestParam("after") long after, @RequestParam("limit") int limit);
+
+    @GetMapping("/api/keynotes/events/snapshot")
+    KeynoteSnapshotDTO getKeynoteSnapshot();
+
     // Fallback methods
     default KeynoteDTO getKeynoteByIdFallback(Long id, Exception e) {
         return KeynoteDTO.builder()
@@ -33,4 +49,8 @@ public interface KeynoteClient {
     default List<KeynoteDTO> getAllKeynotesFallback(Exception e) {
         return List.of();
     }
+
+    default List<KeynoteDTO> getKeynotesByIdsFallback(List<Long> ids, Exception e) {
+        return List.of();
+    }
 }
@@ -0,0 +1,36 @@
+package ma.enset.conferenceservice.clients;
+
+import ma.enset.conferenceservice.models.KeynoteDTO;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link KeynoteClient} for the reactive read path,
+ * resolving KEYNOTE-SERVICE through the same load balancer.
+ */
+@Component
+public class ReactiveKeynoteClient {
+
+    private final WebClient webClient;
+
+    public ReactiveKeynoteClient(WebClient.Builder webClientBuilder,
+                                 ReactorLoadBalancerExchangeFilterFunction loadBalancer) {
+        this.webClient = webClientBuilder
+                .baseUrl("http://KEYNOTE-SERVICE")
+                .filter(loadBalancer)
+                .build();
+    }
+
+    public Mono<List<KeynoteDTO>> getKeynotesByIds(List<Long> ids) {
+        return webClient.post()
+                .uri("/api/keynotes/batch")
+                .bodyValue(ids)
+                .retrieve()
+                .bodyToFlux(KeynoteDTO.class)
+                .collectList();
+    }
+}
@@ -0,0 +1,45 @@
+package ma.enset.conferenceservice.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration.HttpClientBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Tunes the pooled Apache HttpClient 5 that Spring Cloud OpenFeign builds for the Feign
+ * clients (spring.cloud.openfeign.httpclient): keep-alive, gzip answers unless
+ * feign.accept-gzip is false, and pool metrics.
+ */
+@Configuration
+public class FeignClientConfig {
+
+    // Idle connections are dropped before keynote-service's Tomcat closes them after 20 s
+    @Bean
+    public HttpClientBuilderCustomizer httpClientCustomizer(
+            @Value("${feign.keep-alive:15s}") Duration keepAlive,
+            @Value("${feign.accept-gzip:true}") boolean acceptGzip) {
+        TimeValue timeValue = TimeValue.ofMilliseconds(keepAlive.toMillis());
+        return builder -> {
+            builder.setKeepAliveStrategy((response, context) -> timeValue)
+                    .evictIdleConnections(timeValue);
+            if (!acceptGzip) {
+                builder.disableContentCompression();
+            }
+        };
+    }
+
+    // Leased, available and pending connections as httpcomponents.httpclient.pool.* gauges
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(ObjectProvider<HttpClientConnectionManager> connectionManager) {
+        return registry -> connectionManager.ifAvailable(manager -> new PoolingHttpClientConnectionManagerMetricsBinder(
+                (PoolingHttpClientConnectionManager) manager, "feign").bindTo(registry));
+    }
+}
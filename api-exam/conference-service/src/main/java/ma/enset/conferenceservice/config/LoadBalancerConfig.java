@@ -0,0 +1,13 @@
+package ma.enset.conferenceservice.config;
+
+import ma.enset.conferenceservice.loadbalancer.PeakEwmaLoadBalancerConfiguration;
+import ma.enset.conferenceservice.loadbalancer.PeakEwmaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PeakEwmaProperties.class)
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
@@ -0,0 +1,56 @@
+package ma.enset.conferenceservice.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * R2DBC access for the reactive read path, next to the JDBC datasource used by JPA.
+ * The connection pool is deliberately not a bean: Spring Boot skips the JDBC datasource
+ * as soon as an R2DBC ConnectionFactory bean exists, which is also why
+ * R2dbcAutoConfiguration is excluded. The R2DBC repositories only need the DatabaseClient.
+ * <p>
+ * r2dbc-h2 runs statements on the calling thread, and the pool hands a released connection
+ * to the next waiting query on the releasing thread: under sustained load one thread ends up
+ * running every waiting query while the work queued behind it starves. Waiting queries are
+ * therefore handed their connection on a separate scheduler, and never wait longer than
+ * spring.r2dbc.pool.max-acquire-time.
+ */
+@Configuration
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class R2dbcConfig {
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient databaseClient(R2dbcProperties properties) {
+        ConnectionFactory connectionFactory = ConnectionFactoryBuilder.withUrl(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+        R2dbcProperties.Pool pool = properties.getPool();
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxAcquireTime(pool.getMaxAcquireTime())
+                .customizer(poolBuilder -> poolBuilder.acquisitionScheduler(Schedulers.boundedElastic()))
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
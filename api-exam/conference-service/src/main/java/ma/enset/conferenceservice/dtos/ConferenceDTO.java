@@ -19,7 +19,10 @@ public class ConferenceDTO {
     private Integer duree;
     private Integer nombreInscrits;
     private Double score;
+    private Integer reviewCount;
     private Long keynoteId;
+    private Long version;
     private KeynoteDTO keynote;
+    private boolean keynoteDegraded; // keynote non chargée à temps, réponse partielle
     private List<ReviewDTO> reviews;
 }
@@ -0,0 +1,28 @@
+package ma.enset.conferenceservice.dtos;
+
+import lombok.*;
+import ma.enset.conferenceservice.enums.ConferenceSortField;
+import ma.enset.conferenceservice.enums.ConferenceType;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConferenceQueryDTO {
+    private LocalDate from; // inclus
+    private LocalDate to; // inclus
+    private ConferenceType type;
+    private Long keynoteId;
+    private Double minScore;
+    private Integer minInscrits;
+    private String titre; // contenu dans le titre, sans tenir compte de la casse
+    @Builder.Default
+    private ConferenceSortField sort = ConferenceSortField.DATE;
+    @Builder.Default
+    private Sort.Direction direction = Sort.Direction.ASC;
+    private String after; // curseur opaque renvoyé par la page précédente
+    private Integer limit;
+}
@@ -0,0 +1,16 @@
+package ma.enset.conferenceservice.dtos;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConferenceStatsDTO {
+    private StatsGroupDTO total;
+    private List<StatsGroupDTO> byType;
+    private List<StatsGroupDTO> byMonth;
+    private List<StatsGroupDTO> byKeynote;
+}
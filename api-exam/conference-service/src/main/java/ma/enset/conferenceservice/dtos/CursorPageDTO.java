@@ -0,0 +1,14 @@
+package ma.enset.conferenceservice.dtos;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageDTO<T> {
+    private List<T> items;
+    private Long nextCursor; // id du dernier élément, null sur la dernière page
+}
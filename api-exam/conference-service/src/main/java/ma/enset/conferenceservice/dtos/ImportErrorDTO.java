@@ -0,0 +1,12 @@
+package ma.enset.conferenceservice.dtos;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportErrorDTO {
+    private long line; // numéro de ligne dans le fichier importé
+    private String message;
+}
@@ -0,0 +1,21 @@
+package ma.enset.conferenceservice.dtos;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportReportDTO {
+    private long processed;
+    private long inserted;
+    private long updated;
+    private long failed;
+    private int rescoredConferences; // conférences dont le score a été recalculé en fin d'import
+    @Builder.Default
+    private List<ImportErrorDTO> errors = new ArrayList<>();
+    private boolean errorsTruncated; // seules les premières erreurs sont détaillées
+}
@@ -0,0 +1,18 @@
+package ma.enset.conferenceservice.dtos;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KeynoteReplicaStatusDTO {
+    private boolean enabled;
+    private boolean ready; // les lectures passent par la copie locale
+    private long keynotes; // nombre de keynotes copiés
+    private Long lastEventId; // position dans le flux de keynote-service, null avant la première copie
+    private Instant lastPolledAt; // dernière lecture réussie du flux depuis le démarrage
+    private Instant resyncedAt; // dernière copie complète
+}
@@ -0,0 +1,14 @@
+package ma.enset.conferenceservice.dtos;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QueryPageDTO<T> {
+    private List<T> items;
+    private String nextCursor; // position du dernier élément dans le tri, null sur la dernière page
+}
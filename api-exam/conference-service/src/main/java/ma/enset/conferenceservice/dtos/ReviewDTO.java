@@ -14,4 +14,5 @@ public class ReviewDTO {
     private String texte;
     private Integer note;
     private Long conferenceId;
+    private Long version;
 }
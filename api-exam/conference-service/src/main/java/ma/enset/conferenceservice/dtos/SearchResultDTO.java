@@ -0,0 +1,16 @@
+package ma.enset.conferenceservice.dtos;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchResultDTO<T> {
+    private List<T> items;
+    private long totalHits;
+    private int page;
+    private int size;
+}
@@ -0,0 +1,18 @@
+package ma.enset.conferenceservice.dtos;
+
+import lombok.*;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatsGroupDTO {
+    private String key; // type, mois (yyyy-MM) ou id du keynote, "none" si absent
+    private long conferences;
+    private long nombreInscrits;
+    private long reviews;
+    private Double averageScore; // moyenne des notes du groupe, null sans review
+    private Map<Integer, Long> ratings; // nombre de reviews par note, de 1 à 5
+}
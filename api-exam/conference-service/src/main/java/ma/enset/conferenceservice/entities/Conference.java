@@ -4,21 +4,41 @@ import jakarta.persistence.*;
 import lombok.*;
 import ma.enset.conferenceservice.enums.ConferenceType;
 import ma.enset.conferenceservice.models.KeynoteDTO;
+import ma.enset.conferenceservice.search.TextAnalysisConfigurer;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        // Filtre d'égalité suivi du tri par date, puis tris par date, score et inscrits (voir ConferenceSpecifications).
+        // H2 ne parcourt un index que dans son propre sens : score et inscrits sont classés du plus grand au plus petit
+        @Index(name = "idx_conference_type_date", columnList = "type, date, id"),
+        @Index(name = "idx_conference_keynote_date", columnList = "keynote_id, date, id"),
+        @Index(name = "idx_conference_date", columnList = "date, id"),
+        @Index(name = "idx_conference_score", columnList = "score desc, id desc"),
+        @Index(name = "idx_conference_inscrits", columnList = "nombre_inscrits desc, id desc")
+})
+@Indexed
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "conference")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Conference {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "conference_seq")
+    @SequenceGenerator(name = "conference_seq", sequenceName = "conference_seq", allocationSize = 50)
+    private Long id; // séquence plutôt qu'IDENTITY pour permettre les inserts JDBC batchés
 
+    @FullTextField(analyzer = TextAnalysisConfigurer.TEXT_ANALYZER)
     private String titre;
 
     @Enumerated(EnumType.STRING)
@@ -32,12 +52,25 @@ public class Conference {
 
     private Double score;
 
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer reviewCount = 0; // nombre de reviews, maintenu par ReviewServiceImpl
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long noteSum = 0L; // somme des notes, maintenue par ReviewServiceImpl
+
     private Long keynoteId; // FK vers keynote-service
 
     @OneToMany(mappedBy = "conference", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "conference-reviews")
     @Builder.Default
     private List<Review> reviews = new ArrayList<>();
 
+    @Version
+    private Long version; // verrou optimiste, sert aussi d'ETag
+
     @Transient
     private KeynoteDTO keynote; // Chargé via OpenFeign
 }
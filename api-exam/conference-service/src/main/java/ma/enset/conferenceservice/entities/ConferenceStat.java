@@ -0,0 +1,35 @@
+package ma.enset.conferenceservice.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import ma.enset.conferenceservice.enums.StatsDimension;
+
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_conference_stat_group", columnNames = {"dimension", "group_key"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConferenceStat {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatsDimension dimension;
+
+    @Column(nullable = false)
+    private String groupKey; // type, mois (yyyy-MM) ou id du keynote, "none" si absent
+
+    private long conferences;
+
+    private long nombreInscrits;
+
+    // histogramme des notes de 1 à 5
+    private long note1;
+    private long note2;
+    private long note3;
+    private long note4;
+    private long note5;
+}
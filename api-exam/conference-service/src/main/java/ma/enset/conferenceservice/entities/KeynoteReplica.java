@@ -0,0 +1,25 @@
+package ma.enset.conferenceservice.entities;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.*;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KeynoteReplica {
+    @Id
+    private Long id; // id du keynote dans keynote-service
+
+    private String nom;
+
+    private String prenom;
+
+    private String email;
+
+    private String fonction;
+
+    private Long version; // version du keynote dans keynote-service, ignore les événements plus anciens
+}
@@ -0,0 +1,25 @@
+package ma.enset.conferenceservice.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KeynoteReplicaState {
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    private Integer id; // une seule ligne
+
+    @Column(nullable = false)
+    private Long lastEventId; // position dans le flux d'événements de keynote-service
+
+    private Instant resyncedAt; // dernière copie complète
+}
@@ -2,18 +2,24 @@ package ma.enset.conferenceservice.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 
 @Entity
+@Table(indexes = @Index(name = "idx_review_conference_id", columnList = "conference_id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "review")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Review {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "review_seq")
+    @SequenceGenerator(name = "review_seq", sequenceName = "review_seq", allocationSize = 50)
+    private Long id; // séquence plutôt qu'IDENTITY pour permettre les inserts JDBC batchés
 
     private LocalDate date;
 
@@ -22,6 +28,9 @@ public class Review {
 
     private Integer note; // 1 à 5 stars
 
+    @Version
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "conference_id")
     @ToString.Exclude
@@ -0,0 +1,18 @@
+package ma.enset.conferenceservice.enums;
+
+public enum ConferenceSortField {
+    DATE("date"),
+    SCORE("score"),
+    NOMBRE_INSCRITS("nombreInscrits"),
+    ID("id");
+
+    private final String property;
+
+    ConferenceSortField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+}
@@ -0,0 +1,7 @@
+package ma.enset.conferenceservice.enums;
+
+public enum KeynoteChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
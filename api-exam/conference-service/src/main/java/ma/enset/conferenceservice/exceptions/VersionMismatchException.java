@@ -0,0 +1,9 @@
+package ma.enset.conferenceservice.exceptions;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+public class VersionMismatchException extends OptimisticLockingFailureException {
+    public VersionMismatchException(String message) {
+        super(message);
+    }
+}
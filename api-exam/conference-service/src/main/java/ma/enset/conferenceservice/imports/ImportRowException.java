@@ -0,0 +1,14 @@
+package ma.enset.conferenceservice.imports;
+
+public class ImportRowException extends RuntimeException {
+    private final long line;
+
+    public ImportRowException(long line, String message) {
+        super(message);
+        this.line = line;
+    }
+
+    public long getLine() {
+        return line;
+    }
+}
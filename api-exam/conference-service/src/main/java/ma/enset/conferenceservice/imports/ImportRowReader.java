@@ -0,0 +1,127 @@
+package ma.enset.conferenceservice.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import ma.enset.conferenceservice.enums.ImportFormat;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads an import one line at a time, as JSON objects for NDJSON or as rows keyed by the
+ * header line for CSV. A malformed line raises {@link ImportRowException} and the next
+ * call simply moves on to the following line.
+ */
+public class ImportRowReader implements Closeable {
+
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private long line;
+
+    public ImportRowReader(InputStream input, ImportFormat format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    // Returns null once the input is exhausted
+    public JsonNode next() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (line == 1 && text.startsWith("\uFEFF")) {
+                text = text.substring(1);
+            }
+            if (text.isBlank()) {
+                continue;
+            }
+            if (format == ImportFormat.NDJSON) {
+                return parseJson(text);
+            }
+            if (header == null) {
+                header = parseCsv(text).stream().map(String::trim).toList();
+                continue;
+            }
+            return parseCsvRow(text);
+        }
+        return null;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    private JsonNode parseJson(String text) {
+        try {
+            JsonNode node = objectMapper.readTree(text);
+            if (!node.isObject()) {
+                throw new ImportRowException(line, "Expected a JSON object");
+            }
+            return node;
+        } catch (JsonProcessingException e) {
+            throw new ImportRowException(line, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private JsonNode parseCsvRow(String text) {
+        List<String> values = parseCsv(text);
+        if (values.size() != header.size()) {
+            throw new ImportRowException(line, "Expected " + header.size() + " columns but found " + values.size());
+        }
+        ObjectNode node = objectMapper.createObjectNode();
+        for (int i = 0; i < values.size(); i++) {
+            // Empty cells are left out so that they map to null
+            if (!values.get(i).isEmpty()) {
+                node.put(header.get(i), values.get(i));
+            }
+        }
+        return node;
+    }
+
+    // RFC 4180 fields on a single line: comma separated, optionally quoted, "" escapes a quote
+    private List<String> parseCsv(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new ImportRowException(line, "Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,22 @@
+package ma.enset.conferenceservice.jobs;
+
+import lombok.RequiredArgsConstructor;
+import ma.enset.conferenceservice.services.ReviewService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically realigns the running review count, note sum and score of each
+ * conference with the reviews actually stored.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConferenceScoreRepairJob {
+
+    private final ReviewService reviewService;
+
+    @Scheduled(cron = "${review.score-repair.cron:0 0 3 * * *}")
+    public void repairConferenceScores() {
+        reviewService.repairConferenceScores();
+    }
+}
@@ -0,0 +1,42 @@
+package ma.enset.conferenceservice.jobs;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.enset.conferenceservice.repositories.ConferenceRepository;
+import ma.enset.conferenceservice.repositories.ConferenceStatRepository;
+import ma.enset.conferenceservice.services.ConferenceStatsService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the stats rollups of a database that has conferences but no rollups yet,
+ * then periodically rebuilds them from the conferences and reviews actually stored.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConferenceStatsRepairJob {
+
+    private final ConferenceStatsService conferenceStatsService;
+    private final ConferenceStatRepository conferenceStatRepository;
+    private final ConferenceRepository conferenceRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedStats() {
+        if (conferenceStatRepository.count() == 0 && conferenceRepository.count() > 0) {
+            try {
+                conferenceStatsService.rebuildStats();
+            } catch (RuntimeException e) {
+                // Writes racing the first build, the scheduled rebuild catches up
+                log.error("Initial build of the conference stats failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(cron = "${stats.repair.cron:0 30 3 * * *}")
+    public void rebuildStats() {
+        conferenceStatsService.rebuildStats();
+    }
+}
@@ -0,0 +1,48 @@
+package ma.enset.conferenceservice.jobs;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.enset.conferenceservice.services.KeynoteReplicaService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Polls the keynote event feed into the local replica, loading a full copy on the first
+ * run, and reloads it from scratch every night in case an event was ever missed.
+ */
+@Component
+@ConditionalOnProperty(name = "keynote.replica.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class KeynoteReplicaSyncJob {
+
+    private final KeynoteReplicaService keynoteReplicaService;
+
+    private boolean failing;
+
+    @Scheduled(fixedDelayString = "${keynote.replica.poll-interval:2000}")
+    public void catchUp() {
+        try {
+            int applied = keynoteReplicaService.catchUp();
+            if (failing) {
+                log.info("Keynote event feed reachable again");
+                failing = false;
+            }
+            if (applied > 0) {
+                log.info("Applied {} keynote changes to the replica", applied);
+            }
+        } catch (RuntimeException e) {
+            // Logged once per outage, reads keep using the replica or fall back to keynote-service meanwhile
+            if (!failing) {
+                log.warn("Keynote event feed unavailable: {}", e.getMessage());
+                failing = true;
+            }
+        }
+    }
+
+    @Scheduled(cron = "${keynote.replica.resync-cron:0 0 4 * * *}")
+    public void resync() {
+        keynoteReplicaService.resync();
+    }
+}
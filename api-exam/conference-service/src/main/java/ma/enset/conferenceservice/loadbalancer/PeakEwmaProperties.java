@@ -0,0 +1,164 @@
+package ma.enset.conferenceservice.loadbalancer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "load-balancer.peak-ewma")
+public class PeakEwmaProperties {
+
+    // Off falls back to Spring Cloud LoadBalancer's round-robin
+    private boolean enabled = true;
+
+    // How fast an instance's latency peak is forgotten, both between requests and while it gets none
+    private Duration decayTime = Duration.ofSeconds(10);
+
+    // Latency recorded for a failed call, so that fast failures do not make an instance look cheap
+    private Duration failurePenalty = Duration.ofSeconds(1);
+
+    private OutlierEjection outlierEjection = new OutlierEjection();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getDecayTime() {
+        return decayTime;
+    }
+
+    public void setDecayTime(Duration decayTime) {
+        this.decayTime = decayTime;
+    }
+
+    public Duration getFailurePenalty() {
+        return failurePenalty;
+    }
+
+    public void setFailurePenalty(Duration failurePenalty) {
+        this.failurePenalty = failurePenalty;
+    }
+
+    public OutlierEjection getOutlierEjection() {
+        return outlierEjection;
+    }
+
+    public void setOutlierEjection(OutlierEjection outlierEjection) {
+        this.outlierEjection = outlierEjection;
+    }
+
+    /**
+     * When an instance is taken out of rotation for failing or being much slower than the
+     * others. Error rates and mean latencies are measured over windows of interval.
+     */
+    public static class OutlierEjection {
+
+        private boolean enabled = true;
+
+        private Duration interval = Duration.ofSeconds(10);
+
+        private int consecutiveFailures = 5;
+
+        private double failureRateThreshold = 0.5;
+
+        // Calls an instance must have answered in the window before its rates are judged
+        private int minimumRequests = 20;
+
+        // Mean latency above this multiple of the other instances' median ejects the instance
+        private double latencyFactor = 3.0;
+
+        // Mean latencies below this are never an outlier
+        private Duration latencyFloor = Duration.ofMillis(100);
+
+        // Doubled, tripled... for each ejection in a row, up to maxEjectionTime
+        private Duration baseEjectionTime = Duration.ofSeconds(30);
+
+        private Duration maxEjectionTime = Duration.ofMinutes(5);
+
+        // Never more than this share of the instances is ejected at once
+        private int maxEjectionPercent = 50;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getInterval() {
+            return interval;
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+
+        public int getConsecutiveFailures() {
+            return consecutiveFailures;
+        }
+
+        public void setConsecutiveFailures(int consecutiveFailures) {
+            this.consecutiveFailures = consecutiveFailures;
+        }
+
+        public double getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public int getMinimumRequests() {
+            return minimumRequests;
+        }
+
+        public void setMinimumRequests(int minimumRequests) {
+            this.minimumRequests = minimumRequests;
+        }
+
+        public double getLatencyFactor() {
+            return latencyFactor;
+        }
+
+        public void setLatencyFactor(double latencyFactor) {
+            this.latencyFactor = latencyFactor;
+        }
+
+        public Duration getLatencyFloor() {
+            return latencyFloor;
+        }
+
+        public void setLatencyFloor(Duration latencyFloor) {
+            this.latencyFloor = latencyFloor;
+        }
+
+        public Duration getBaseEjectionTime() {
+            return baseEjectionTime;
+        }
+
+        public void setBaseEjectionTime(Duration baseEjectionTime) {
+            this.baseEjectionTime = baseEjectionTime;
+        }
+
+        public Duration getMaxEjectionTime() {
+            return maxEjectionTime;
+        }
+
+        public void setMaxEjectionTime(Duration maxEjectionTime) {
+            this.maxEjectionTime = maxEjectionTime;
+        }
+
+        public int getMaxEjectionPercent() {
+            return maxEjectionPercent;
+        }
+
+        public void setMaxEjectionPercent(int maxEjectionPercent) {
+            this.maxEjectionPercent = maxEjectionPercent;
+        }
+    }
+}
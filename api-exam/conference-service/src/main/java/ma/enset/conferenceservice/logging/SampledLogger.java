@@ -0,0 +1,67 @@
+package ma.enset.conferenceservice.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs at most one message per interval for a failure that repeats on every request, such
+ * as keynote fetch errors while keynote-service is down, and reports on the next message how
+ * many were dropped in between. The first failure after a quiet period is always logged.
+ * Use one instance per kind of failure.
+ */
+public class SampledLogger {
+
+    private static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(10);
+
+    private final Logger logger;
+    private final long intervalNanos;
+    private final AtomicLong nextPermitted;
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public SampledLogger(Logger logger) {
+        this(logger, DEFAULT_INTERVAL);
+    }
+
+    public SampledLogger(Logger logger, Duration interval) {
+        this.logger = logger;
+        this.intervalNanos = interval.toNanos();
+        this.nextPermitted = new AtomicLong(System.nanoTime());
+    }
+
+    public void warn(String format, Object... arguments) {
+        log(Level.WARN, format, arguments);
+    }
+
+    public void error(String format, Object... arguments) {
+        log(Level.ERROR, format, arguments);
+    }
+
+    private void log(Level level, String format, Object... arguments) {
+        if (!logger.isEnabledForLevel(level)) {
+            return;
+        }
+        long now = System.nanoTime();
+        long next = nextPermitted.get();
+        if (now - next < 0 || !nextPermitted.compareAndSet(next, now + intervalNanos)) {
+            suppressed.incrementAndGet();
+            return;
+        }
+        long dropped = suppressed.getAndSet(0);
+        if (dropped == 0) {
+            logger.atLevel(level).log(format, arguments);
+            return;
+        }
+        // The count goes before a trailing exception so that SLF4J still prints its stack trace
+        int count = arguments.length > 0 && arguments[arguments.length - 1] instanceof Throwable
+                ? arguments.length - 1
+                : arguments.length;
+        Object[] withDropped = Arrays.copyOf(arguments, arguments.length + 1);
+        System.arraycopy(arguments, count, withDropped, count + 1, arguments.length - count);
+        withDropped[count] = dropped;
+        logger.atLevel(level).log(format + " ({} similar messages suppressed)", withDropped);
+    }
+}
@@ -2,20 +2,53 @@ package ma.enset.conferenceservice.mappers;
 
 import ma.enset.conferenceservice.dtos.ConferenceDTO;
 import ma.enset.conferenceservice.entities.Conference;
+import ma.enset.conferenceservice.entities.KeynoteReplica;
+import ma.enset.conferenceservice.models.KeynoteDTO;
+import ma.enset.conferenceservice.projections.ConferenceRecord;
+import ma.enset.conferenceservice.projections.ConferenceSummary;
+import ma.enset.conferenceservice.projections.ConferenceWithKeynote;
+import ma.enset.conferenceservice.projections.KeynoteReplicaRecord;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring", uses = { ReviewMapper.class })
+@Mapper(componentModel = "spring")
 public interface ConferenceMapper {
 
-    @Mapping(target = "reviews", source = "reviews")
+    // Reviews are loaded on demand, see ConferenceService.loadReviews
+    @Mapping(target = "reviews", ignore = true)
+    @Mapping(target = "keynoteDegraded", ignore = true)
     ConferenceDTO toDTO(Conference conference);
 
     @Mapping(target = "reviews", ignore = true)
     @Mapping(target = "keynote", ignore = true)
+    @Mapping(target = "keynoteDegraded", ignore = true)
+    ConferenceDTO toDTO(ConferenceSummary summary);
+
+    @Mapping(target = "reviews", ignore = true)
+    @Mapping(target = "keynoteDegraded", ignore = true)
+    ConferenceDTO withKeynoteToDTO(ConferenceWithKeynote conference);
+
+    @Mapping(target = "reviews", ignore = true)
+    @Mapping(target = "keynote", ignore = true)
+    @Mapping(target = "keynoteDegraded", ignore = true)
+    ConferenceDTO toDTO(ConferenceRecord conference);
+
+    KeynoteDTO toKeynoteDTO(KeynoteReplica keynote);
+
+    KeynoteDTO toKeynoteDTO(KeynoteReplicaRecord keynote);
+
+    @Mapping(target = "reviews", ignore = true)
+    @Mapping(target = "keynote", ignore = true)
+    @Mapping(target = "reviewCount", ignore = true)
+    @Mapping(target = "noteSum", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Conference toEntity(ConferenceDTO conferenceDTO);
 
     List<ConferenceDTO> toDTOList(List<Conference> conferences);
+
+    List<ConferenceDTO> summariesToDTOList(List<ConferenceSummary> summaries);
+
+    List<ConferenceDTO> withKeynotesToDTOList(List<ConferenceWithKeynote> conferences);
 }
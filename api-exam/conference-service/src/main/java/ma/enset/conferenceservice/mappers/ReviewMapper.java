@@ -2,6 +2,7 @@ package ma.enset.conferenceservice.mappers;
 
 import ma.enset.conferenceservice.dtos.ReviewDTO;
 import ma.enset.conferenceservice.entities.Review;
+import ma.enset.conferenceservice.projections.ReviewRecord;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -13,7 +14,10 @@ public interface ReviewMapper {
     @Mapping(target = "conferenceId", source = "conference.id")
     ReviewDTO toDTO(Review review);
 
+    ReviewDTO toDTO(ReviewRecord review);
+
     @Mapping(target = "conference", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Review toEntity(ReviewDTO reviewDTO);
 
     List<ReviewDTO> toDTOList(List<Review> reviews);
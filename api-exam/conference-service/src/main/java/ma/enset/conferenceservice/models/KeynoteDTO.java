@@ -12,4 +12,5 @@ public class KeynoteDTO {
     private String prenom;
     private String email;
     private String fonction;
+    private Long version;
 }
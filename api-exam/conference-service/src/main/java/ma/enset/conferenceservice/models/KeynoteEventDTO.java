@@ -0,0 +1,22 @@
+package ma.enset.conferenceservice.models;
+
+import lombok.*;
+import ma.enset.conferenceservice.enums.KeynoteChangeType;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KeynoteEventDTO {
+    private Long id;
+    private Long keynoteId;
+    private KeynoteChangeType type;
+    private String nom;
+    private String prenom;
+    private String email;
+    private String fonction;
+    private Long keynoteVersion;
+    private Instant createdAt;
+}
@@ -0,0 +1,15 @@
+package ma.enset.conferenceservice.models;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KeynoteEventPageDTO {
+    private List<KeynoteEventDTO> events;
+    private Long resumeAfter; // position à redemander ensuite
+    private boolean resyncRequired; // flux purgé ou réinitialisé depuis la position demandée
+}
@@ -0,0 +1,10 @@
+package ma.enset.conferenceservice.models;
+
+import java.util.Map;
+
+/**
+ * Keynotes found for a set of ids. {@code degraded} is set when some of them could not
+ * be fetched, either because keynote-service failed or because the deadline was hit.
+ */
+public record KeynoteLookup(Map<Long, KeynoteDTO> keynotes, boolean degraded) {
+}
@@ -0,0 +1,14 @@
+package ma.enset.conferenceservice.models;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KeynoteSnapshotDTO {
+    private List<KeynoteDTO> keynotes;
+    private Long resumeAfter; // position du flux à partir de laquelle reprendre après cette copie
+}
@@ -0,0 +1,23 @@
+package ma.enset.conferenceservice.projections;
+
+import ma.enset.conferenceservice.enums.ConferenceType;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only R2DBC mapping of the conference table, used by the reactive read path.
+ */
+@Table("conference")
+public record ConferenceRecord(@Id Long id,
+                               String titre,
+                               ConferenceType type,
+                               LocalDate date,
+                               Integer duree,
+                               Integer nombreInscrits,
+                               Double score,
+                               Integer reviewCount,
+                               Long keynoteId,
+                               Long version) {
+}
@@ -0,0 +1,30 @@
+package ma.enset.conferenceservice.projections;
+
+import ma.enset.conferenceservice.enums.ConferenceType;
+
+import java.time.LocalDate;
+
+/**
+ * Scalar-only view of a conference, selected without touching the reviews association.
+ */
+public interface ConferenceSummary {
+    Long getId();
+
+    String getTitre();
+
+    ConferenceType getType();
+
+    LocalDate getDate();
+
+    Integer getDuree();
+
+    Integer getNombreInscrits();
+
+    Double getScore();
+
+    Integer getReviewCount();
+
+    Long getKeynoteId();
+
+    Long getVersion();
+}
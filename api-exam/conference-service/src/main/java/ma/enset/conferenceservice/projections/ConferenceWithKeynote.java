@@ -0,0 +1,11 @@
+package ma.enset.conferenceservice.projections;
+
+import ma.enset.conferenceservice.entities.KeynoteReplica;
+
+/**
+ * Conference summary joined with its keynote from the local replica, null when the
+ * conference has no keynote or the keynote is unknown to the replica.
+ */
+public interface ConferenceWithKeynote extends ConferenceSummary {
+    KeynoteReplica getKeynote();
+}
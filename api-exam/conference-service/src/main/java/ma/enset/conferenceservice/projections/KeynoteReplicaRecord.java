@@ -0,0 +1,16 @@
+package ma.enset.conferenceservice.projections;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Read-only R2DBC mapping of the keynote replica, used by the reactive read path.
+ */
+@Table("keynote_replica")
+public record KeynoteReplicaRecord(@Id Long id,
+                                   String nom,
+                                   String prenom,
+                                   String email,
+                                   String fonction,
+                                   Long version) {
+}
@@ -0,0 +1,9 @@
+package ma.enset.conferenceservice.projections;
+
+public interface NoteCount {
+    Long getConferenceId();
+
+    Integer getNote();
+
+    Long getReviewCount();
+}
@@ -0,0 +1,17 @@
+package ma.enset.conferenceservice.projections;
+
+import ma.enset.conferenceservice.enums.ConferenceType;
+
+public interface NoteGroupAggregate {
+    ConferenceType getType();
+
+    Integer getDateYear();
+
+    Integer getDateMonth();
+
+    Long getKeynoteId();
+
+    Integer getNote();
+
+    Long getReviewCount();
+}
@@ -0,0 +1,9 @@
+package ma.enset.conferenceservice.projections;
+
+public interface ReviewAggregate {
+    Long getConferenceId();
+
+    Long getReviewCount();
+
+    Long getNoteSum();
+}
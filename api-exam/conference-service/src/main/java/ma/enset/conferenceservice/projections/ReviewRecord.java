@@ -0,0 +1,18 @@
+package ma.enset.conferenceservice.projections;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only R2DBC mapping of the review table, used by the reactive read path.
+ */
+@Table("review")
+public record ReviewRecord(@Id Long id,
+                           LocalDate date,
+                           String texte,
+                           Integer note,
+                           Long conferenceId,
+                           Long version) {
+}
@@ -0,0 +1,12 @@
+package ma.enset.conferenceservice.projections;
+
+/**
+ * Cheap fingerprint of a whole table: any insert, update or delete changes at least one value.
+ */
+public interface TableVersion {
+    Long getRowCount();
+
+    Long getVersionSum();
+
+    Long getMaxId();
+}
@@ -1,15 +1,33 @@
 package ma.enset.conferenceservice.repositories;
 
+import jakarta.persistence.QueryHint;
 import ma.enset.conferenceservice.entities.Conference;
 import ma.enset.conferenceservice.enums.ConferenceType;
+import ma.enset.conferenceservice.projections.ConferenceGroupAggregate;
+import ma.enset.conferenceservice.projections.ConferenceSummary;
+import ma.enset.conferenceservice.projections.ConferenceWithKeynote;
+import ma.enset.conferenceservice.projections.TableVersion;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface ConferenceRepository extends JpaRepository<Conference, Long> {
+public interface ConferenceRepository extends JpaRepository<Conference, Long>, JpaSpecificationExecutor<Conference> {
     List<Conference> findByType(ConferenceType type);
 
     List<Conference> findByTitreContainingIgnoreCase(String titre);
@@ -17,4 +35,62 @@ public interface ConferenceRepository extends JpaRepository<Conference, Long> {
     List<Conference> findByDateBetween(LocalDate startDate, LocalDate endDate);
 
     List<Conference> findByKeynoteId(Long keynoteId);
+
+    List<ConferenceSummary> findSummariesBy();
+
+    // Joins the local keynote replica instead of calling keynote-service
+    @Query("SELECT c.id AS id, c.titre AS titre, c.type AS type, c.date AS date, c.duree AS duree, " +
+            "c.nombreInscrits AS nombreInscrits, c.score AS score, c.reviewCount AS reviewCount, " +
+            "c.keynoteId AS keynoteId, c.version AS version, k AS keynote " +
+            "FROM Conference c LEFT JOIN KeynoteReplica k ON k.id = c.keynoteId")
+    List<ConferenceWithKeynote> findSummariesWithKeynotes();
+
+    // Query cache entries are dropped whenever the conference table changes
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "conference-by-type")})
+    List<ConferenceSummary> findSummariesByType(ConferenceType type);
+
+    List<ConferenceSummary> findSummariesByTitreContainingIgnoreCase(String titre);
+
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "conference-by-keynote")})
+    List<ConferenceSummary> findSummariesByKeynoteId(Long keynoteId);
+
+    List<ConferenceSummary> findSummariesByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<ConferenceSummary> findSummariesByTypeAndIdGreaterThanOrderByIdAsc(ConferenceType type, Long id, Limit limit);
+
+    @Query("SELECT c.id FROM Conference c WHERE c.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT c.version FROM Conference c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(c) AS rowCount, COALESCE(SUM(c.version), 0L) AS versionSum, " +
+            "COALESCE(MAX(c.id), 0L) AS maxId FROM Conference c")
+    TableVersion findTableVersion();
+
+    // Finest grain of the stats rollups, folded by type, month and keynote afterwards
+    @Query("SELECT c.type AS type, YEAR(c.date) AS dateYear, MONTH(c.date) AS dateMonth, c.keynoteId AS keynoteId, " +
+            "COUNT(c) AS conferences, COALESCE(SUM(c.nombreInscrits), 0L) AS nombreInscrits " +
+            "FROM Conference c GROUP BY c.type, YEAR(c.date), MONTH(c.date), c.keynoteId")
+    List<ConferenceGroupAggregate> aggregateByGroup();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "100"))
+    @Query("SELECT c FROM Conference c ORDER BY c.id")
+    Stream<Conference> streamAll();
+
+    // Applies a review delta in place, the score is left untouched once no review remains.
+    // The version is bumped as well since the conference representation changes.
+    // Hibernate cannot tell which rows a bulk UPDATE touched: it empties the conference cache region.
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Conference c SET " +
+            "c.version = c.version + 1, " +
+            "c.reviewCount = c.reviewCount + :countDelta, " +
+            "c.noteSum = c.noteSum + :noteDelta, " +
+            "c.score = CASE WHEN c.reviewCount + :countDelta > 0 " +
+            "THEN ROUND(CAST(c.noteSum + :noteDelta AS double) / (c.reviewCount + :countDelta), 2) " +
+            "ELSE c.score END " +
+            "WHERE c.id = :id")
+    int applyReviewDelta(@Param("id") Long id, @Param("countDelta") int countDelta, @Param("noteDelta") long noteDelta);
 }
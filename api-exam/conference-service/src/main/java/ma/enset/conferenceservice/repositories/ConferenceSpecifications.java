@@ -0,0 +1,81 @@
+package ma.enset.conferenceservice.repositories;
+
+import jakarta.persistence.criteria.Expression;
+import ma.enset.conferenceservice.entities.Conference;
+import ma.enset.conferenceservice.enums.ConferenceType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Filters of the conference query API. Each returns null when its criterion is absent,
+ * which Specification.allOf skips, so the combined filters compile into a single WHERE clause.
+ */
+public final class ConferenceSpecifications {
+
+    private ConferenceSpecifications() {
+    }
+
+    public static Specification<Conference> dateFrom(LocalDate from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("date"), from);
+    }
+
+    public static Specification<Conference> dateTo(LocalDate to) {
+        return to == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("date"), to);
+    }
+
+    public static Specification<Conference> hasType(ConferenceType type) {
+        return type == null ? null : (root, query, cb) -> cb.equal(root.get("type"), type);
+    }
+
+    public static Specification<Conference> hasKeynote(Long keynoteId) {
+        return keynoteId == null ? null : (root, query, cb) -> cb.equal(root.get("keynoteId"), keynoteId);
+    }
+
+    public static Specification<Conference> minScore(Double minScore) {
+        return minScore == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("score"), minScore);
+    }
+
+    public static Specification<Conference> minInscrits(Integer minInscrits) {
+        return minInscrits == null ? null
+                : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("nombreInscrits"), minInscrits);
+    }
+
+    public static Specification<Conference> titreContains(String titre) {
+        if (titre == null || titre.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + titre.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("titre")), pattern, '\\');
+    }
+
+    public static Specification<Conference> isNull(String property) {
+        return (root, query, cb) -> cb.isNull(root.get(property));
+    }
+
+    public static Specification<Conference> isNotNull(String property) {
+        return (root, query, cb) -> cb.isNotNull(root.get(property));
+    }
+
+    // Rows after (value, id) in (property, id) order. Written as a range plus a tie-break
+    // rather than a bare OR so that the range can be served by an index on (property, id).
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static Specification<Conference> after(String property, Comparable value, long id, boolean ascending) {
+        return (root, query, cb) -> {
+            Expression<Comparable> path = root.get(property);
+            return ascending
+                    ? cb.and(cb.greaterThanOrEqualTo(path, value),
+                    cb.or(cb.greaterThan(path, value), cb.greaterThan(root.get("id"), id)))
+                    : cb.and(cb.lessThanOrEqualTo(path, value),
+                    cb.or(cb.lessThan(path, value), cb.lessThan(root.get("id"), id)));
+        };
+    }
+
+    public static Specification<Conference> idAfter(long id, boolean ascending) {
+        return (root, query, cb) -> ascending ? cb.greaterThan(root.get("id"), id) : cb.lessThan(root.get("id"), id);
+    }
+}
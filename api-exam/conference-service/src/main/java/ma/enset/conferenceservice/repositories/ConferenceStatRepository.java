@@ -0,0 +1,32 @@
+package ma.enset.conferenceservice.repositories;
+
+import ma.enset.conferenceservice.entities.ConferenceStat;
+import ma.enset.conferenceservice.enums.StatsDimension;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ConferenceStatRepository extends JpaRepository<ConferenceStat, Long> {
+    List<ConferenceStat> findByDimensionAndConferencesGreaterThanOrderByGroupKeyAsc(StatsDimension dimension, long conferences);
+
+    // Applies a delta in place, returns 0 when the group has no row yet
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ConferenceStat s SET " +
+            "s.conferences = s.conferences + :conferences, " +
+            "s.nombreInscrits = s.nombreInscrits + :nombreInscrits, " +
+            "s.note1 = s.note1 + :note1, " +
+            "s.note2 = s.note2 + :note2, " +
+            "s.note3 = s.note3 + :note3, " +
+            "s.note4 = s.note4 + :note4, " +
+            "s.note5 = s.note5 + :note5 " +
+            "WHERE s.dimension = :dimension AND s.groupKey = :groupKey")
+    int applyDelta(@Param("dimension") StatsDimension dimension, @Param("groupKey") String groupKey,
+                   @Param("conferences") long conferences, @Param("nombreInscrits") long nombreInscrits,
+                   @Param("note1") long note1, @Param("note2") long note2, @Param("note3") long note3,
+                   @Param("note4") long note4, @Param("note5") long note5);
+}
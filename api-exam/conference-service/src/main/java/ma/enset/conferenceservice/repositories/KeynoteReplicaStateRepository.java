@@ -0,0 +1,9 @@
+package ma.enset.conferenceservice.repositories;
+
+import ma.enset.conferenceservice.entities.KeynoteReplicaState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface KeynoteReplicaStateRepository extends JpaRepository<KeynoteReplicaState, Integer> {
+}
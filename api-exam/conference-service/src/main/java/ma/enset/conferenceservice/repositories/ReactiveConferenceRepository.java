@@ -0,0 +1,12 @@
+package ma.enset.conferenceservice.repositories;
+
+import ma.enset.conferenceservice.projections.ConferenceRecord;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveConferenceRepository extends R2dbcRepository<ConferenceRecord, Long> {
+    Flux<ConferenceRecord> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+}
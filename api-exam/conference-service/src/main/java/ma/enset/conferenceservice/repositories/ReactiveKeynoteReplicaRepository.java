@@ -0,0 +1,9 @@
+package ma.enset.conferenceservice.repositories;
+
+import ma.enset.conferenceservice.projections.KeynoteReplicaRecord;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReactiveKeynoteReplicaRepository extends R2dbcRepository<KeynoteReplicaRecord, Long> {
+}
@@ -0,0 +1,11 @@
+package ma.enset.conferenceservice.repositories;
+
+import ma.enset.conferenceservice.projections.ReviewRecord;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveReviewRepository extends R2dbcRepository<ReviewRecord, Long> {
+    Flux<ReviewRecord> findByConferenceIdOrderByIdAsc(Long conferenceId);
+}
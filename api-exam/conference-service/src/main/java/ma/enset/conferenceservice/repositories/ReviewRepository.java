@@ -1,14 +1,52 @@
 package ma.enset.conferenceservice.repositories;
 
+import jakarta.persistence.QueryHint;
 import ma.enset.conferenceservice.entities.Review;
+import ma.enset.conferenceservice.projections.NoteCount;
+import ma.enset.conferenceservice.projections.NoteGroupAggregate;
+import ma.enset.conferenceservice.projections.ReviewAggregate;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
     List<Review> findByConferenceId(Long conferenceId);
 
+    @Query("SELECT r FROM Review r WHERE r.conference.id IN :conferenceIds")
+    List<Review> findByConferenceIdIn(@Param("conferenceIds") Collection<Long> conferenceIds);
+
     List<Review> findByNote(Integer note);
+
+    List<Review> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "100"))
+    @Query("SELECT r FROM Review r ORDER BY r.id")
+    Stream<Review> streamAll();
+
+    @Query("SELECT r.conference.id AS conferenceId, COUNT(r) AS reviewCount, SUM(r.note) AS noteSum " +
+            "FROM Review r GROUP BY r.conference.id")
+    List<ReviewAggregate> aggregateByConference();
+
+    @Query("SELECT r.conference.id AS conferenceId, COUNT(r) AS reviewCount, SUM(r.note) AS noteSum " +
+            "FROM Review r WHERE r.conference.id IN :conferenceIds GROUP BY r.conference.id")
+    List<ReviewAggregate> aggregateByConferenceIdIn(@Param("conferenceIds") Collection<Long> conferenceIds);
+
+    @Query("SELECT r.conference.id AS conferenceId, r.note AS note, COUNT(r) AS reviewCount " +
+            "FROM Review r WHERE r.conference.id IN :conferenceIds GROUP BY r.conference.id, r.note")
+    List<NoteCount> countNotesByConferenceIdIn(@Param("conferenceIds") Collection<Long> conferenceIds);
+
+    @Query("SELECT c.type AS type, YEAR(c.date) AS dateYear, MONTH(c.date) AS dateMonth, c.keynoteId AS keynoteId, " +
+            "r.note AS note, COUNT(r) AS reviewCount " +
+            "FROM Review r JOIN r.conference c GROUP BY c.type, YEAR(c.date), MONTH(c.date), c.keynoteId, r.note")
+    List<NoteGroupAggregate> aggregateNotesByGroup();
 }
@@ -0,0 +1,21 @@
+package ma.enset.conferenceservice.search;
+
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurationContext;
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurer;
+
+/**
+ * Analyzer used by full-text fields: accents and case are ignored so that
+ * "conférence" and "Conference" match the same terms.
+ */
+public class TextAnalysisConfigurer implements LuceneAnalysisConfigurer {
+
+    public static final String TEXT_ANALYZER = "text";
+
+    @Override
+    public void configure(LuceneAnalysisConfigurationContext context) {
+        context.analyzer(TEXT_ANALYZER).custom()
+                .tokenizer("standard")
+                .tokenFilter("lowercase")
+                .tokenFilter("asciiFolding");
+    }
+}
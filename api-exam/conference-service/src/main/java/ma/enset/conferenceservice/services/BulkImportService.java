@@ -0,0 +1,12 @@
+package ma.enset.conferenceservice.services;
+
+import ma.enset.conferenceservice.dtos.ImportReportDTO;
+import ma.enset.conferenceservice.enums.ImportFormat;
+
+import java.io.InputStream;
+
+public interface BulkImportService {
+    ImportReportDTO importConferences(InputStream input, ImportFormat format);
+
+    ImportReportDTO importReviews(InputStream input, ImportFormat format);
+}
@@ -0,0 +1,293 @@
+package ma.enset.conferenceservice.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.enset.conferenceservice.dtos.ConferenceDTO;
+import ma.enset.conferenceservice.dtos.ImportErrorDTO;
+import ma.enset.conferenceservice.dtos.ImportReportDTO;
+import ma.enset.conferenceservice.dtos.ReviewDTO;
+import ma.enset.conferenceservice.entities.Conference;
+import ma.enset.conferenceservice.entities.Review;
+import ma.enset.conferenceservice.enums.ImportFormat;
+import ma.enset.conferenceservice.imports.ImportRowException;
+import ma.enset.conferenceservice.imports.ImportRowReader;
+import ma.enset.conferenceservice.mappers.ConferenceMapper;
+import ma.enset.conferenceservice.mappers.ReviewMapper;
+import ma.enset.conferenceservice.repositories.ConferenceRepository;
+import ma.enset.conferenceservice.repositories.ReviewRepository;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.search.mapper.orm.Search;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Streams an import into the database one chunk at a time. Each chunk is its own
+ * transaction, written in JDBC batches and detached afterwards, so a bad row or a failed
+ * chunk is reported without aborting the rest of the import.
+ * Not @Transactional on purpose, transactions are opened per chunk.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkImportServiceImpl implements BulkImportService {
+
+    private final ConferenceRepository conferenceRepository;
+    private final ReviewRepository reviewRepository;
+    private final ReviewService reviewService;
+    private final ConferenceStatsService conferenceStatsService;
+    private final ConferenceMapper conferenceMapper;
+    private final ReviewMapper reviewMapper;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${bulk-import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${bulk-import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Override
+    public ImportReportDTO importConferences(InputStream input, ImportFormat format) {
+        log.info("Importing conferences from {}", format);
+        ImportReportDTO report = new ImportReportDTO();
+        readInChunks(input, format, ConferenceDTO.class, report, chunk -> writeConferences(chunk, report));
+        report.getErrors().sort(Comparator.comparingLong(ImportErrorDTO::getLine));
+        log.info("Imported conferences: {} inserted, {} updated, {} failed",
+                report.getInserted(), report.getUpdated(), report.getFailed());
+        return report;
+    }
+
+    @Override
+    public ImportReportDTO importReviews(InputStream input, ImportFormat format) {
+        log.info("Importing reviews from {}", format);
+        ImportReportDTO report = new ImportReportDTO();
+        Set<Long> affectedConferences = new HashSet<>();
+        readInChunks(input, format, ReviewDTO.class, report, chunk -> writeReviews(chunk, report, affectedConferences));
+        report.getErrors().sort(Comparator.comparingLong(ImportErrorDTO::getLine));
+
+        // Scores are recomputed once per conference instead of once per review
+        report.setRescoredConferences(reviewService.recomputeConferenceScores(affectedConferences));
+        log.info("Imported reviews: {} inserted, {} updated, {} failed, {} conferences rescored",
+                report.getInserted(), report.getUpdated(), report.getFailed(), report.getRescoredConferences());
+        return report;
+    }
+
+    private <T> void readInChunks(InputStream input, ImportFormat format, Class<T> type, ImportReportDTO report,
+                                  Consumer<List<ImportRow<T>>> writer) {
+        List<ImportRow<T>> chunk = new ArrayList<>(batchSize);
+        try (ImportRowReader reader = new ImportRowReader(input, format, objectMapper)) {
+            while (true) {
+                JsonNode node;
+                try {
+                    node = reader.next();
+                } catch (ImportRowException e) {
+                    report.setProcessed(report.getProcessed() + 1);
+                    reject(report, e.getLine(), e.getMessage());
+                    continue;
+                }
+                if (node == null) {
+                    break;
+                }
+                report.setProcessed(report.getProcessed() + 1);
+                try {
+                    chunk.add(new ImportRow<>(reader.getLine(), objectMapper.treeToValue(node, type)));
+                } catch (JsonProcessingException e) {
+                    reject(report, reader.getLine(), e.getOriginalMessage());
+                    continue;
+                }
+                if (chunk.size() == batchSize) {
+                    writer.accept(chunk);
+                    chunk = new ArrayList<>(batchSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writer.accept(chunk);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeConferences(List<ImportRow<ConferenceDTO>> chunk, ImportReportDTO report) {
+        List<ImportRow<ConferenceDTO>> written = new ArrayList<>();
+        long[] counts = new long[2];
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Session session = entityManager.unwrap(Session.class);
+                session.setJdbcBatchSize(batchSize);
+                // Imported rows would only churn the second-level cache, updates still invalidate it
+                session.setCacheMode(CacheMode.IGNORE);
+                Map<Long, Conference> existing = conferenceRepository.findAllById(chunk.stream()
+                                .map(row -> row.value().getId())
+                                .filter(Objects::nonNull)
+                                .toList()).stream()
+                        .collect(Collectors.toMap(Conference::getId, Function.identity()));
+
+                StatsDeltas deltas = new StatsDeltas();
+                Map<Long, Conference> before = new HashMap<>();
+
+                for (ImportRow<ConferenceDTO> row : chunk) {
+                    ConferenceDTO dto = row.value();
+                    if (dto.getId() == null) {
+                        Conference conference = conferenceMapper.toEntity(dto);
+                        entityManager.persist(conference);
+                        deltas.addConference(conference, 1, null);
+                        counts[0]++;
+                    } else if (existing.containsKey(dto.getId())) {
+                        Conference conference = existing.get(dto.getId());
+                        before.putIfAbsent(conference.getId(), StatsDeltas.snapshot(conference));
+                        conference.setTitre(dto.getTitre());
+                        conference.setType(dto.getType());
+                        conference.setDate(dto.getDate());
+                        conference.setDuree(dto.getDuree());
+                        conference.setNombreInscrits(dto.getNombreInscrits());
+                        conference.setKeynoteId(dto.getKeynoteId());
+                        counts[1]++;
+                    } else {
+                        reject(report, row.line(), "Conference not found with id: " + dto.getId());
+                        continue;
+                    }
+                    written.add(row);
+                }
+
+                // Reviews are only counted for the conferences that change group
+                Map<Long, long[]> notes = conferenceStatsService.getNoteHistograms(before.entrySet().stream()
+                        .filter(entry -> StatsDeltas.changesGroup(entry.getValue(), existing.get(entry.getKey())))
+                        .map(Map.Entry::getKey)
+                        .toList());
+                before.forEach((id, conference) -> deltas.moveConference(conference, existing.get(id), notes.get(id)));
+                conferenceStatsService.applyDeltas(deltas);
+                flushAndDetach();
+            });
+            report.setInserted(report.getInserted() + counts[0]);
+            report.setUpdated(report.getUpdated() + counts[1]);
+        } catch (RuntimeException e) {
+            rejectChunk(report, written, e);
+        }
+    }
+
+    private void writeReviews(List<ImportRow<ReviewDTO>> chunk, ImportReportDTO report, Set<Long> affectedConferences) {
+        List<ImportRow<ReviewDTO>> written = new ArrayList<>();
+        Set<Long> touched = new HashSet<>();
+        long[] counts = new long[2];
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Session session = entityManager.unwrap(Session.class);
+                session.setJdbcBatchSize(batchSize);
+                // Imported rows would only churn the second-level cache, updates still invalidate it
+                session.setCacheMode(CacheMode.IGNORE);
+                Map<Long, Review> existing = reviewRepository.findAllById(chunk.stream()
+                                .map(row -> row.value().getId())
+                                .filter(Objects::nonNull)
+                                .toList()).stream()
+                        .collect(Collectors.toMap(Review::getId, Function.identity()));
+                // Loaded for the stats rollups, which are grouped by conference fields
+                Set<Long> conferenceIds = chunk.stream()
+                        .map(row -> row.value().getConferenceId())
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet());
+                existing.values().forEach(review -> conferenceIds.add(review.getConference().getId()));
+                Map<Long, Conference> conferences = conferenceRepository.findAllById(conferenceIds).stream()
+                        .collect(Collectors.toMap(Conference::getId, Function.identity()));
+                StatsDeltas deltas = new StatsDeltas();
+
+                for (ImportRow<ReviewDTO> row : chunk) {
+                    ReviewDTO dto = row.value();
+                    if (dto.getNote() == null || dto.getNote() < 1 || dto.getNote() > 5) {
+                        reject(report, row.line(), "Note must be between 1 and 5");
+                        continue;
+                    }
+                    if (dto.getId() == null) {
+                        if (!conferences.containsKey(dto.getConferenceId())) {
+                            reject(report, row.line(), "Conference not found with id: " + dto.getConferenceId());
+                            continue;
+                        }
+                        Review review = reviewMapper.toEntity(dto);
+                        review.setConference(entityManager.getReference(Conference.class, dto.getConferenceId()));
+                        review.setDate(dto.getDate() != null ? dto.getDate() : LocalDate.now());
+                        entityManager.persist(review);
+                        deltas.addNote(conferences.get(dto.getConferenceId()), review.getNote(), 1);
+                        touched.add(dto.getConferenceId());
+                        counts[0]++;
+                    } else if (existing.containsKey(dto.getId())) {
+                        Review review = existing.get(dto.getId());
+                        Conference conference = conferences.get(review.getConference().getId());
+                        deltas.addNote(conference, review.getNote(), -1);
+                        deltas.addNote(conference, dto.getNote(), 1);
+                        review.setTexte(dto.getTexte());
+                        review.setNote(dto.getNote());
+                        touched.add(conference.getId());
+                        counts[1]++;
+                    } else {
+                        reject(report, row.line(), "Review not found with id: " + dto.getId());
+                        continue;
+                    }
+                    written.add(row);
+                }
+                conferenceStatsService.applyDeltas(deltas);
+                flushAndDetach();
+            });
+            report.setInserted(report.getInserted() + counts[0]);
+            report.setUpdated(report.getUpdated() + counts[1]);
+            affectedConferences.addAll(touched);
+        } catch (RuntimeException e) {
+            rejectChunk(report, written, e);
+        }
+    }
+
+    // Writes the chunk in JDBC batches, indexes it, then keeps the persistence context from growing
+    private void flushAndDetach() {
+        entityManager.flush();
+        Search.session(entityManager).indexingPlan().execute();
+        entityManager.clear();
+    }
+
+    private <T> void rejectChunk(ImportReportDTO report, List<ImportRow<T>> rows, RuntimeException e) {
+        log.error("Import chunk of {} rows rolled back: {}", rows.size(), e.getMessage());
+        String message = "Batch rolled back: " + rootCauseMessage(e);
+        rows.forEach(row -> reject(report, row.line(), message));
+    }
+
+    private void reject(ImportReportDTO report, long line, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(new ImportErrorDTO(line, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    private static String rootCauseMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+
+    private record ImportRow<T>(long line, T value) {
+    }
+}
@@ -0,0 +1,63 @@
+package ma.enset.conferenceservice.services;
+
+import ma.enset.conferenceservice.entities.Conference;
+import ma.enset.conferenceservice.enums.ConferenceSortField;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Keyset position in the conference query API: the sort it belongs to, the sort value of
+ * the last conference returned and its id. A null value means the conferences without a
+ * value for the sort field, which come after all the others, have been reached.
+ */
+record ConferenceCursor(ConferenceSortField sort, Sort.Direction direction, Comparable<?> value, long id) {
+
+    static ConferenceCursor of(ConferenceSortField sort, Sort.Direction direction, Conference last) {
+        Comparable<?> value = switch (sort) {
+            case DATE -> last.getDate();
+            case SCORE -> last.getScore();
+            case NOMBRE_INSCRITS -> last.getNombreInscrits();
+            case ID -> null;
+        };
+        return new ConferenceCursor(sort, direction, value, last.getId());
+    }
+
+    String encode() {
+        String raw = sort + "|" + direction + "|" + (value != null ? value : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ConferenceCursor decode(String cursor, ConferenceSortField sort, Sort.Direction direction) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] parts = new String(decodeBase64(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+        if (parts.length != 4 || !parts[0].equals(sort.name()) || !parts[1].equals(direction.name())) {
+            throw new IllegalArgumentException("Cursor does not belong to a query sorted by " + sort + " " + direction);
+        }
+        try {
+            String value = parts[2];
+            Comparable<?> parsed = value.isEmpty() ? null : switch (sort) {
+                case DATE -> LocalDate.parse(value);
+                case SCORE -> Double.valueOf(value);
+                case NOMBRE_INSCRITS -> Integer.valueOf(value);
+                case ID -> null;
+            };
+            return new ConferenceCursor(sort, direction, parsed, Long.parseLong(parts[3]));
+        } catch (NumberFormatException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private static byte[] decodeBase64(String cursor) {
+        try {
+            return Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -1,28 +1,54 @@
 package ma.enset.conferenceservice.services;
 
 import ma.enset.conferenceservice.dtos.ConferenceDTO;
+import ma.enset.conferenceservice.dtos.ConferenceQueryDTO;
+import ma.enset.conferenceservice.dtos.CursorPageDTO;
+import ma.enset.conferenceservice.dtos.QueryPageDTO;
+import ma.enset.conferenceservice.dtos.SearchResultDTO;
 import ma.enset.conferenceservice.enums.ConferenceType;
+import ma.enset.conferenceservice.projections.TableVersion;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ConferenceService {
     ConferenceDTO saveConference(ConferenceDTO conferenceDTO);
 
-    ConferenceDTO updateConference(Long id, ConferenceDTO conferenceDTO);
+    ConferenceDTO updateConference(Long id, ConferenceDTO conferenceDTO, Long expectedVersion);
 
     ConferenceDTO getConferenceById(Long id);
 
     ConferenceDTO getConferenceByIdWithKeynote(Long id);
 
+    Long getConferenceVersion(Long id);
+
+    TableVersion getConferencesVersion();
+
+    long getKeynoteGeneration();
+
     List<ConferenceDTO> getAllConferences();
 
     List<ConferenceDTO> getAllConferencesWithKeynotes();
 
+    CursorPageDTO<ConferenceDTO> getConferencesPage(Long after, Integer limit, boolean withKeynotes);
+
+    CursorPageDTO<ConferenceDTO> getConferencesByTypePage(ConferenceType type, Long after, Integer limit);
+
+    QueryPageDTO<ConferenceDTO> queryConferences(ConferenceQueryDTO query);
+
+    void exportConferences(Consumer<ConferenceDTO> consumer);
+
+    void loadReviews(List<ConferenceDTO> conferences);
+
     void deleteConference(Long id);
 
     List<ConferenceDTO> getConferencesByType(ConferenceType type);
 
     List<ConferenceDTO> searchByTitre(String titre);
 
+    SearchResultDTO<ConferenceDTO> fullTextSearch(String query, int page, int size);
+
+    void rebuildSearchIndex();
+
     List<ConferenceDTO> getConferencesByKeynoteId(Long keynoteId);
 }
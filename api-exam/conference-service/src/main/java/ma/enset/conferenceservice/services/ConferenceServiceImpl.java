@@ -1,30 +1,82 @@
 package ma.enset.conferenceservice.services;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import ma.enset.conferenceservice.clients.KeynoteClient;
+import ma.enset.conferenceservice.clients.CachedKeynoteClient;
 import ma.enset.conferenceservice.dtos.ConferenceDTO;
+import ma.enset.conferenceservice.dtos.ConferenceQueryDTO;
+import ma.enset.conferenceservice.dtos.CursorPageDTO;
+import ma.enset.conferenceservice.dtos.QueryPageDTO;
+import ma.enset.conferenceservice.dtos.ReviewDTO;
+import ma.enset.conferenceservice.dtos.SearchResultDTO;
 import ma.enset.conferenceservice.entities.Conference;
+import ma.enset.conferenceservice.enums.ConferenceSortField;
 import ma.enset.conferenceservice.enums.ConferenceType;
 import ma.enset.conferenceservice.exceptions.ConferenceNotFoundException;
+import ma.enset.conferenceservice.exceptions.VersionMismatchException;
+import ma.enset.conferenceservice.logging.SampledLogger;
 import ma.enset.conferenceservice.mappers.ConferenceMapper;
+import ma.enset.conferenceservice.mappers.ReviewMapper;
 import ma.enset.conferenceservice.models.KeynoteDTO;
+import ma.enset.conferenceservice.models.KeynoteLookup;
+import ma.enset.conferenceservice.projections.ConferenceSummary;
+import ma.enset.conferenceservice.projections.TableVersion;
 import ma.enset.conferenceservice.repositories.ConferenceRepository;
+import ma.enset.conferenceservice.repositories.ConferenceSpecifications;
+import ma.enset.conferenceservice.repositories.ReviewRepository;
+import org.hibernate.search.engine.search.predicate.dsl.BooleanPredicateClausesStep;
+import org.hibernate.search.engine.search.predicate.dsl.SimpleQueryFlag;
+import org.hibernate.search.engine.search.query.SearchResult;
+import org.hibernate.search.mapper.orm.Search;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
+@Observed(name = "conference.service")
 @RequiredArgsConstructor
 @Slf4j
 public class ConferenceServiceImpl implements ConferenceService {
 
+    // Keynote failures repeat on every request during an outage
+    private static final SampledLogger keynoteErrorLog = new SampledLogger(log);
+    private static final SampledLogger fallbackLog = new SampledLogger(log);
+
     private final ConferenceRepository conferenceRepository;
     private final ConferenceMapper conferenceMapper;
-    private final KeynoteClient keynoteClient;
+    private final ReviewRepository reviewRepository;
+    private final ReviewMapper reviewMapper;
+    private final CachedKeynoteClient keynoteClient;
+    private final KeynoteReplicaService keynoteReplicaService;
+    private final ConferenceStatsService conferenceStatsService;
+    private final EntityManager entityManager;
+    private final ObservationRegistry observationRegistry;
+
+    @Value("${pagination.default-limit:50}")
+    private int defaultLimit;
+
+    @Value("${pagination.max-limit:500}")
+    private int maxLimit;
 
     @Override
     @CircuitBreaker(name = "conferenceService", fallbackMethod = "saveConferenceFallback")
@@ -32,16 +84,25 @@ public class ConferenceServiceImpl implements ConferenceService {
         log.info("Saving new conference: {}", conferenceDTO.getTitre());
         Conference conference = conferenceMapper.toEntity(conferenceDTO);
         Conference savedConference = conferenceRepository.save(conference);
+        conferenceStatsService.conferenceAdded(savedConference);
         return conferenceMapper.toDTO(savedConference);
     }
 
     @Override
     @CircuitBreaker(name = "conferenceService", fallbackMethod = "updateConferenceFallback")
-    public ConferenceDTO updateConference(Long id, ConferenceDTO conferenceDTO) {
+    public ConferenceDTO updateConference(Long id, ConferenceDTO conferenceDTO, Long expectedVersion) {
         log.info("Updating conference with id: {}", id);
         Conference existingConference = conferenceRepository.findById(id)
                 .orElseThrow(() -> new ConferenceNotFoundException("Conference not found with id: " + id));
 
+        // Concurrent writers after this check are caught by @Version when flushing
+        if (expectedVersion != null && !expectedVersion.equals(existingConference.getVersion())) {
+            throw new VersionMismatchException("Conference " + id + " is at version " + existingConference.getVersion()
+                    + ", not " + expectedVersion);
+        }
+
+        Conference before = StatsDeltas.snapshot(existingConference);
+
         existingConference.setTitre(conferenceDTO.getTitre());
         existingConference.setType(conferenceDTO.getType());
         existingConference.setDate(conferenceDTO.getDate());
@@ -50,33 +111,44 @@ public class ConferenceServiceImpl implements ConferenceService {
         existingConference.setScore(conferenceDTO.getScore());
         existingConference.setKeynoteId(conferenceDTO.getKeynoteId());
 
-        Conference updatedConference = conferenceRepository.save(existingConference);
+        // Flushed so that the returned version is the new one
+        Conference updatedConference = conferenceRepository.saveAndFlush(existingConference);
+        conferenceStatsService.conferenceUpdated(before, updatedConference);
         return conferenceMapper.toDTO(updatedConference);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ConferenceDTO getConferenceById(Long id) {
-        log.info("Getting conference with id: {}", id);
+        log.debug("Getting conference with id: {}", id);
         Conference conference = conferenceRepository.findById(id)
                 .orElseThrow(() -> new ConferenceNotFoundException("Conference not found with id: " + id));
         return conferenceMapper.toDTO(conference);
     }
 
+    // Outside the class transaction, so that the JDBC connection is back in the pool while
+    // keynote-service answers: with virtual threads nothing else bounds the requests waiting for one.
+    // readOnly still sends its queries to the replica pool when there is one
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED, readOnly = true)
     @CircuitBreaker(name = "conferenceService", fallbackMethod = "getConferenceByIdWithKeynoteFallback")
     public ConferenceDTO getConferenceByIdWithKeynote(Long id) {
-        log.info("Getting conference with keynote for id: {}", id);
+        log.debug("Getting conference with keynote for id: {}", id);
         Conference conference = conferenceRepository.findById(id)
                 .orElseThrow(() -> new ConferenceNotFoundException("Conference not found with id: " + id));
 
         ConferenceDTO conferenceDTO = conferenceMapper.toDTO(conference);
 
-        if (conference.getKeynoteId() != null) {
+        if (conference.getKeynoteId() != null && keynoteReplicaService.isReady()) {
+            conferenceDTO.setKeynote(keynoteReplicaService.getKeynotesByIds(List.of(conference.getKeynoteId()))
+                    .get(conference.getKeynoteId()));
+        } else if (conference.getKeynoteId() != null) {
             try {
                 KeynoteDTO keynote = keynoteClient.getKeynoteById(conference.getKeynoteId());
                 conferenceDTO.setKeynote(keynote);
             } catch (Exception e) {
-                log.error("Error fetching keynote: {}", e.getMessage());
+                keynoteErrorLog.error("Error fetching keynote: {}", e.getMessage());
+                conferenceDTO.setKeynoteDegraded(true);
             }
         }
 
@@ -84,61 +156,293 @@ public class ConferenceServiceImpl implements ConferenceService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Long getConferenceVersion(Long id) {
+        return conferenceRepository.findVersionById(id)
+                .orElseThrow(() -> new ConferenceNotFoundException("Conference not found with id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TableVersion getConferencesVersion() {
+        return conferenceRepository.findTableVersion();
+    }
+
+    @Override
+    public long getKeynoteGeneration() {
+        return keynoteClient.getGeneration();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<ConferenceDTO> getAllConferences() {
-        log.info("Getting all conferences");
-        List<Conference> conferences = conferenceRepository.findAll();
-        return conferenceMapper.toDTOList(conferences);
+        log.debug("Getting all conferences");
+        List<ConferenceSummary> conferences = conferenceRepository.findSummariesBy();
+        return conferenceMapper.summariesToDTOList(conferences);
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED, readOnly = true)
     @CircuitBreaker(name = "conferenceService", fallbackMethod = "getAllConferencesWithKeynotesFallback")
     public List<ConferenceDTO> getAllConferencesWithKeynotes() {
-        log.info("Getting all conferences with keynotes");
-        List<Conference> conferences = conferenceRepository.findAll();
-        List<ConferenceDTO> conferenceDTOs = conferenceMapper.toDTOList(conferences);
+        log.debug("Getting all conferences with keynotes");
+        if (keynoteReplicaService.isReady()) {
+            List<ConferenceDTO> conferenceDTOs = conferenceMapper.withKeynotesToDTOList(
+                    conferenceRepository.findSummariesWithKeynotes());
+            tagCurrentObservation("conference.count", conferenceDTOs.size());
+            return conferenceDTOs;
+        }
+        List<ConferenceSummary> conferences = conferenceRepository.findSummariesBy();
+        List<ConferenceDTO> conferenceDTOs = conferenceMapper.summariesToDTOList(conferences);
+        enrichWithKeynotes(conferenceDTOs);
+        return conferenceDTOs;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED, readOnly = true)
+    public CursorPageDTO<ConferenceDTO> getConferencesPage(Long after, Integer limit, boolean withKeynotes) {
+        log.debug("Getting conferences page after: {}, limit: {}", after, limit);
+        int pageSize = pageSize(limit);
+        List<ConferenceSummary> conferences = conferenceRepository.findSummariesByIdGreaterThanOrderByIdAsc(
+                after != null ? after : 0L, Limit.of(pageSize + 1));
+        CursorPageDTO<ConferenceDTO> page = toPage(conferences, pageSize);
+        if (withKeynotes) {
+            enrichWithKeynotes(page.getItems());
+        }
+        return page;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ConferenceDTO> getConferencesByTypePage(ConferenceType type, Long after, Integer limit) {
+        log.debug("Getting conferences page by type: {}, after: {}, limit: {}", type, after, limit);
+        int pageSize = pageSize(limit);
+        List<ConferenceSummary> conferences = conferenceRepository.findSummariesByTypeAndIdGreaterThanOrderByIdAsc(
+                type, after != null ? after : 0L, Limit.of(pageSize + 1));
+        return toPage(conferences, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public QueryPageDTO<ConferenceDTO> queryConferences(ConferenceQueryDTO query) {
+        log.debug("Querying conferences: {}", query);
+        int pageSize = pageSize(query.getLimit());
+        ConferenceSortField sort = query.getSort();
+        Sort.Direction direction = query.getDirection();
+        ConferenceCursor cursor = ConferenceCursor.decode(query.getAfter(), sort, direction);
+        Specification<Conference> filter = Specification.allOf(
+                ConferenceSpecifications.dateFrom(query.getFrom()),
+                ConferenceSpecifications.dateTo(query.getTo()),
+                ConferenceSpecifications.hasType(query.getType()),
+                ConferenceSpecifications.hasKeynote(query.getKeynoteId()),
+                ConferenceSpecifications.minScore(query.getMinScore()),
+                ConferenceSpecifications.minInscrits(query.getMinInscrits()),
+                ConferenceSpecifications.titreContains(query.getTitre()));
+
+        Sort order = queryOrder(query, sort, direction);
+        List<Conference> conferences = new ArrayList<>();
+        boolean sortedById = sort == ConferenceSortField.ID;
+        if (!sortedById && (cursor == null || cursor.value() != null)) {
+            Specification<Conference> keyset = cursor != null
+                    ? ConferenceSpecifications.after(sort.getProperty(), cursor.value(), cursor.id(), direction.isAscending())
+                    : null;
+            conferences.addAll(findConferences(filter.and(ConferenceSpecifications.isNotNull(sort.getProperty())).and(keyset),
+                    order, pageSize + 1));
+        }
+        // Conferences without a value for the sort field come last, by id
+        if (conferences.size() <= pageSize) {
+            Specification<Conference> rest = sortedById ? filter : filter.and(ConferenceSpecifications.isNull(sort.getProperty()));
+            Specification<Conference> keyset = cursor != null && (sortedById || cursor.value() == null)
+                    ? ConferenceSpecifications.idAfter(cursor.id(), direction.isAscending())
+                    : null;
+            conferences.addAll(findConferences(rest.and(keyset), order, pageSize + 1 - conferences.size()));
+        }
+
+        // Rows are fetched with one extra element to know whether another page follows
+        boolean hasMore = conferences.size() > pageSize;
+        List<Conference> items = hasMore ? conferences.subList(0, pageSize) : conferences;
+        tagCurrentObservation("conference.count", items.size());
+        return QueryPageDTO.<ConferenceDTO>builder()
+                .items(conferenceMapper.toDTOList(items))
+                .nextCursor(hasMore ? ConferenceCursor.of(sort, direction, items.get(items.size() - 1)).encode() : null)
+                .build();
+    }
+
+    // Equality filters lead the ORDER BY so that H2 reads idx_conference_keynote_date or
+    // idx_conference_type_date in index order instead of sorting every matching row
+    private static Sort queryOrder(ConferenceQueryDTO query, ConferenceSortField sort, Sort.Direction direction) {
+        List<String> properties = new ArrayList<>();
+        if (sort == ConferenceSortField.DATE && query.getKeynoteId() != null) {
+            properties.add("keynoteId");
+        } else if (sort == ConferenceSortField.DATE && query.getType() != null) {
+            properties.add("type");
+        }
+        if (sort != ConferenceSortField.ID) {
+            properties.add(sort.getProperty());
+        }
+        properties.add("id");
+        return Sort.by(direction, properties.toArray(String[]::new));
+    }
+
+    private List<Conference> findConferences(Specification<Conference> specification, Sort sort, int limit) {
+        // limit() before sortBy(): limit() re-appends the current sort and would emit the ORDER BY twice
+        return conferenceRepository.findBy(specification, query -> query
+                .limit(limit)
+                .sortBy(sort)
+                .all());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportConferences(Consumer<ConferenceDTO> consumer) {
+        log.info("Exporting all conferences");
+        try (Stream<Conference> conferences = conferenceRepository.streamAll()) {
+            conferences.forEach(conference -> {
+                consumer.accept(conferenceMapper.toDTO(conference));
+                // Keep the persistence context bounded while streaming
+                entityManager.detach(conference);
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void loadReviews(List<ConferenceDTO> conferences) {
+        if (conferences.isEmpty()) {
+            return;
+        }
+        List<Long> conferenceIds = conferences.stream().map(ConferenceDTO::getId).toList();
+        Map<Long, List<ReviewDTO>> reviews = reviewMapper.toDTOList(reviewRepository.findByConferenceIdIn(conferenceIds))
+                .stream()
+                .collect(Collectors.groupingBy(ReviewDTO::getConferenceId));
+        conferences.forEach(dto -> dto.setReviews(reviews.getOrDefault(dto.getId(), new ArrayList<>())));
+    }
+
+    private void enrichWithKeynotes(List<ConferenceDTO> conferenceDTOs) {
+        List<Long> keynoteIds = conferenceDTOs.stream()
+                .map(ConferenceDTO::getKeynoteId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        // Once loaded, the replica is authoritative: a keynote it does not know no longer exists
+        boolean fromReplica = keynoteReplicaService.isReady();
+        tagCurrentObservation("conference.count", conferenceDTOs.size());
+        tagCurrentObservation("keynote.ids", keynoteIds.size());
+        tagCurrentObservation("keynote.source", fromReplica ? "replica" : "keynote-service");
+        KeynoteLookup lookup = fromReplica
+                ? new KeynoteLookup(keynoteReplicaService.getKeynotesByIds(keynoteIds), false)
+                : keynoteClient.getKeynotesByIds(keynoteIds);
 
         conferenceDTOs.forEach(dto -> {
             if (dto.getKeynoteId() != null) {
-                try {
-                    KeynoteDTO keynote = keynoteClient.getKeynoteById(dto.getKeynoteId());
-                    dto.setKeynote(keynote);
-                } catch (Exception e) {
-                    log.error("Error fetching keynote for conference {}: {}", dto.getId(), e.getMessage());
-                }
+                KeynoteDTO keynote = lookup.keynotes().get(dto.getKeynoteId());
+                dto.setKeynote(keynote);
+                dto.setKeynoteDegraded(keynote == null && lookup.degraded());
             }
         });
+    }
 
-        return conferenceDTOs;
+    // Span attributes only: high cardinality values are not added to the service timers
+    private void tagCurrentObservation(String key, Object value) {
+        Observation observation = observationRegistry.getCurrentObservation();
+        if (observation != null) {
+            observation.highCardinalityKeyValue(key, String.valueOf(value));
+        }
+    }
+
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return defaultLimit;
+        }
+        return Math.max(1, Math.min(limit, maxLimit));
+    }
+
+    // Rows are fetched with one extra element to know whether another page follows
+    private CursorPageDTO<ConferenceDTO> toPage(List<ConferenceSummary> conferences, int pageSize) {
+        boolean hasMore = conferences.size() > pageSize;
+        List<ConferenceSummary> items = hasMore ? conferences.subList(0, pageSize) : conferences;
+        tagCurrentObservation("conference.count", items.size());
+        return CursorPageDTO.<ConferenceDTO>builder()
+                .items(conferenceMapper.summariesToDTOList(items))
+                .nextCursor(hasMore ? items.get(items.size() - 1).getId() : null)
+                .build();
     }
 
     @Override
     public void deleteConference(Long id) {
         log.info("Deleting conference with id: {}", id);
-        if (!conferenceRepository.existsById(id)) {
-            throw new ConferenceNotFoundException("Conference not found with id: " + id);
-        }
-        conferenceRepository.deleteById(id);
+        Conference conference = conferenceRepository.findById(id)
+                .orElseThrow(() -> new ConferenceNotFoundException("Conference not found with id: " + id));
+        // Counted before the reviews go away with the conference
+        conferenceStatsService.conferenceRemoved(conference);
+        conferenceRepository.delete(conference);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ConferenceDTO> getConferencesByType(ConferenceType type) {
-        log.info("Getting conferences by type: {}", type);
-        List<Conference> conferences = conferenceRepository.findByType(type);
-        return conferenceMapper.toDTOList(conferences);
+        log.debug("Getting conferences by type: {}", type);
+        List<ConferenceSummary> conferences = conferenceRepository.findSummariesByType(type);
+        return conferenceMapper.summariesToDTOList(conferences);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ConferenceDTO> searchByTitre(String titre) {
-        log.info("Searching conferences by titre: {}", titre);
-        List<Conference> conferences = conferenceRepository.findByTitreContainingIgnoreCase(titre);
-        return conferenceMapper.toDTOList(conferences);
+        log.debug("Searching conferences by titre: {}", titre);
+        List<ConferenceSummary> conferences = conferenceRepository.findSummariesByTitreContainingIgnoreCase(titre);
+        return conferenceMapper.summariesToDTOList(conferences);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public SearchResultDTO<ConferenceDTO> fullTextSearch(String query, int page, int size) {
+        log.debug("Full-text searching conferences: {}", query);
+        int pageSize = pageSize(size);
+        int pageIndex = Math.max(page, 0);
+        List<String> terms = Arrays.stream(query.split("\\s+"))
+                .map(term -> term.replaceAll("[^\\p{L}\\p{N}]", ""))
+                .filter(term -> !term.isEmpty())
+                .toList();
+        if (terms.isEmpty()) {
+            return new SearchResultDTO<>(List.of(), 0, pageIndex, pageSize);
+        }
+
+        // Every term must match the title exactly, as a prefix or within one edit; exact matches rank first
+        SearchResult<Conference> result = Search.session(entityManager)
+                .search(Conference.class)
+                .where(f -> {
+                    BooleanPredicateClausesStep<?> bool = f.bool();
+                    terms.forEach(term -> bool.must(f.bool()
+                            .should(f.match().field("titre").matching(term).boost(3.0f))
+                            .should(f.simpleQueryString().field("titre").matching(term + "*")
+                                    .flags(SimpleQueryFlag.PREFIX).boost(2.0f))
+                            .should(f.match().field("titre").matching(term).fuzzy(1))));
+                    return bool;
+                })
+                .fetch(pageIndex * pageSize, pageSize);
+
+        return new SearchResultDTO<>(conferenceMapper.toDTOList(result.hits()),
+                result.total().hitCount(), pageIndex, pageSize);
+    }
+
+    @Override
+    public void rebuildSearchIndex() {
+        log.info("Rebuilding conference search index");
+        try {
+            Search.session(entityManager).massIndexer(Conference.class).startAndWait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Conference search index rebuild interrupted", e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<ConferenceDTO> getConferencesByKeynoteId(Long keynoteId) {
-        log.info("Getting conferences by keynote id: {}", keynoteId);
-        List<Conference> conferences = conferenceRepository.findByKeynoteId(keynoteId);
-        return conferenceMapper.toDTOList(conferences);
+        log.debug("Getting conferences by keynote id: {}", keynoteId);
+        List<ConferenceSummary> conferences = conferenceRepository.findSummariesByKeynoteId(keynoteId);
+        return conferenceMapper.summariesToDTOList(conferences);
     }
 
     // Fallback methods
@@ -147,18 +451,24 @@ public class ConferenceServiceImpl implements ConferenceService {
         return null;
     }
 
-    public ConferenceDTO updateConferenceFallback(Long id, ConferenceDTO conferenceDTO, Exception e) {
+    public ConferenceDTO updateConferenceFallback(Long id, ConferenceDTO conferenceDTO, Long expectedVersion, Exception e) {
         log.error("Fallback for updateConference: {}", e.getMessage());
         return null;
     }
 
+    // A stale version is reported to the caller rather than swallowed by the fallback above
+    public ConferenceDTO updateConferenceFallback(Long id, ConferenceDTO conferenceDTO, Long expectedVersion,
+                                                  OptimisticLockingFailureException e) {
+        throw e;
+    }
+
     public ConferenceDTO getConferenceByIdWithKeynoteFallback(Long id, Exception e) {
-        log.error("Fallback for getConferenceByIdWithKeynote: {}", e.getMessage());
+        fallbackLog.error("Fallback for getConferenceByIdWithKeynote: {}", e.getMessage());
         return getConferenceById(id);
     }
 
     public List<ConferenceDTO> getAllConferencesWithKeynotesFallback(Exception e) {
-        log.error("Fallback for getAllConferencesWithKeynotes: {}", e.getMessage());
+        fallbackLog.error("Fallback for getAllConferencesWithKeynotes: {}", e.getMessage());
         return getAllConferences();
     }
 }
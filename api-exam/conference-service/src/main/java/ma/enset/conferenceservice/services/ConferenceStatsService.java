@@ -0,0 +1,30 @@
+package ma.enset.conferenceservice.services;
+
+import ma.enset.conferenceservice.dtos.ConferenceStatsDTO;
+import ma.enset.conferenceservice.dtos.StatsGroupDTO;
+import ma.enset.conferenceservice.entities.Conference;
+import ma.enset.conferenceservice.enums.StatsDimension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface ConferenceStatsService {
+    ConferenceStatsDTO getStats();
+
+    List<StatsGroupDTO> getStats(StatsDimension dimension);
+
+    void conferenceAdded(Conference conference);
+
+    void conferenceUpdated(Conference before, Conference after);
+
+    void conferenceRemoved(Conference conference);
+
+    void reviewNoteChanged(Conference conference, Integer previousNote, Integer note);
+
+    Map<Long, long[]> getNoteHistograms(Collection<Long> conferenceIds);
+
+    void applyDeltas(StatsDeltas deltas);
+
+    int rebuildStats();
+}
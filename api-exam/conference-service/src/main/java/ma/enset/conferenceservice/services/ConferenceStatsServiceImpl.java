@@ -0,0 +1,220 @@
+package ma.enset.conferenceservice.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.enset.conferenceservice.dtos.ConferenceStatsDTO;
+import ma.enset.conferenceservice.dtos.StatsGroupDTO;
+import ma.enset.conferenceservice.entities.Conference;
+import ma.enset.conferenceservice.entities.ConferenceStat;
+import ma.enset.conferenceservice.enums.StatsDimension;
+import ma.enset.conferenceservice.projections.ConferenceGroupAggregate;
+import ma.enset.conferenceservice.projections.NoteCount;
+import ma.enset.conferenceservice.projections.NoteGroupAggregate;
+import ma.enset.conferenceservice.repositories.ConferenceRepository;
+import ma.enset.conferenceservice.repositories.ConferenceStatRepository;
+import ma.enset.conferenceservice.repositories.ReviewRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Serves conference stats from rollup rows kept per type, month and keynote. Every
+ * write adjusts the rows of its groups in the same transaction, so reads cost one row
+ * per group whatever the number of conferences and reviews.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class ConferenceStatsServiceImpl implements ConferenceStatsService {
+
+    private final ConferenceStatRepository conferenceStatRepository;
+    private final ConferenceRepository conferenceRepository;
+    private final ReviewRepository reviewRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    @Transactional(readOnly = true)
+    public ConferenceStatsDTO getStats() {
+        log.info("Getting conference stats");
+        List<StatsGroupDTO> byType = getStats(StatsDimension.TYPE);
+
+        // Types partition every conference, so their sum is the overall total
+        long[] total = new long[7];
+        byType.forEach(group -> {
+            total[0] += group.getConferences();
+            total[1] += group.getNombreInscrits();
+            for (int note = 1; note <= 5; note++) {
+                total[1 + note] += group.getRatings().get(note);
+            }
+        });
+
+        return ConferenceStatsDTO.builder()
+                .total(toDTO(null, total[0], total[1], total[2], total[3], total[4], total[5], total[6]))
+                .byType(byType)
+                .byMonth(getStats(StatsDimension.MONTH))
+                .byKeynote(getStats(StatsDimension.KEYNOTE))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StatsGroupDTO> getStats(StatsDimension dimension) {
+        return conferenceStatRepository.findByDimensionAndConferencesGreaterThanOrderByGroupKeyAsc(dimension, 0L)
+                .stream()
+                .map(stat -> toDTO(stat.getGroupKey(), stat.getConferences(), stat.getNombreInscrits(),
+                        stat.getNote1(), stat.getNote2(), stat.getNote3(), stat.getNote4(), stat.getNote5()))
+                .toList();
+    }
+
+    @Override
+    public void conferenceAdded(Conference conference) {
+        StatsDeltas deltas = new StatsDeltas();
+        deltas.addConference(conference, 1, null);
+        applyDeltas(deltas);
+    }
+
+    @Override
+    public void conferenceUpdated(Conference before, Conference after) {
+        StatsDeltas deltas = new StatsDeltas();
+        // Reviews only have to be counted when the conference leaves one of its groups
+        long[] notes = StatsDeltas.changesGroup(before, after)
+                ? getNoteHistograms(List.of(after.getId())).get(after.getId())
+                : null;
+        deltas.moveConference(before, after, notes);
+        applyDeltas(deltas);
+    }
+
+    @Override
+    public void conferenceRemoved(Conference conference) {
+        StatsDeltas deltas = new StatsDeltas();
+        deltas.addConference(conference, -1, getNoteHistograms(List.of(conference.getId())).get(conference.getId()));
+        applyDeltas(deltas);
+    }
+
+    @Override
+    public void reviewNoteChanged(Conference conference, Integer previousNote, Integer note) {
+        if (Objects.equals(previousNote, note)) {
+            return;
+        }
+        StatsDeltas deltas = new StatsDeltas();
+        if (previousNote != null) {
+            deltas.addNote(conference, previousNote, -1);
+        }
+        if (note != null) {
+            deltas.addNote(conference, note, 1);
+        }
+        applyDeltas(deltas);
+    }
+
+    @Override
+    public Map<Long, long[]> getNoteHistograms(Collection<Long> conferenceIds) {
+        Map<Long, long[]> histograms = new HashMap<>();
+        conferenceIds.forEach(id -> histograms.put(id, new long[5]));
+        List<Long> ids = new ArrayList<>(conferenceIds);
+        // Bounded IN lists
+        for (int from = 0; from < ids.size(); from += 1000) {
+            List<NoteCount> counts = reviewRepository.countNotesByConferenceIdIn(
+                    ids.subList(from, Math.min(from + 1000, ids.size())));
+            counts.forEach(count -> histograms.get(count.getConferenceId())[count.getNote() - 1] = count.getReviewCount());
+        }
+        return histograms;
+    }
+
+    @Override
+    public void applyDeltas(StatsDeltas deltas) {
+        deltas.forEach((group, delta) -> {
+            if (applyDelta(group, delta) == 0) {
+                createGroup(group);
+                applyDelta(group, delta);
+            }
+        });
+    }
+
+    @Override
+    public int rebuildStats() {
+        log.info("Rebuilding conference stats rollups");
+        StatsDeltas deltas = new StatsDeltas();
+        for (ConferenceGroupAggregate group : conferenceRepository.aggregateByGroup()) {
+            deltas.addGroup(group.getType(), monthOf(group.getDateYear(), group.getDateMonth()), group.getKeynoteId(),
+                    group.getConferences(), group.getNombreInscrits());
+        }
+        for (NoteGroupAggregate group : reviewRepository.aggregateNotesByGroup()) {
+            if (group.getNote() != null && group.getNote() >= 1 && group.getNote() <= 5) {
+                deltas.addGroupNotes(group.getType(), monthOf(group.getDateYear(), group.getDateMonth()),
+                        group.getKeynoteId(), group.getNote(), group.getReviewCount());
+            }
+        }
+
+        List<ConferenceStat> stats = new ArrayList<>();
+        deltas.forEach((group, delta) -> stats.add(ConferenceStat.builder()
+                .dimension(group.dimension())
+                .groupKey(group.key())
+                .conferences(delta[0])
+                .nombreInscrits(delta[1])
+                .note1(delta[2])
+                .note2(delta[3])
+                .note3(delta[4])
+                .note4(delta[5])
+                .note5(delta[6])
+                .build()));
+        conferenceStatRepository.deleteAllInBatch();
+        conferenceStatRepository.saveAll(stats);
+        log.info("Rebuilt {} conference stats groups", stats.size());
+        return stats.size();
+    }
+
+    private int applyDelta(StatsDeltas.Group group, long[] delta) {
+        return conferenceStatRepository.applyDelta(group.dimension(), group.key(), delta[0], delta[1],
+                delta[2], delta[3], delta[4], delta[5], delta[6]);
+    }
+
+    // Committed on its own so that two writers opening the same group do not fail each other
+    private void createGroup(StatsDeltas.Group group) {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            requiresNew.executeWithoutResult(status -> conferenceStatRepository.saveAndFlush(ConferenceStat.builder()
+                    .dimension(group.dimension())
+                    .groupKey(group.key())
+                    .build()));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Stats group {} {} already created", group.dimension(), group.key());
+        }
+    }
+
+    private static YearMonth monthOf(Integer year, Integer month) {
+        return year != null && month != null ? YearMonth.of(year, month) : null;
+    }
+
+    private static StatsGroupDTO toDTO(String key, long conferences, long nombreInscrits,
+                                       long note1, long note2, long note3, long note4, long note5) {
+        Map<Integer, Long> ratings = new LinkedHashMap<>();
+        ratings.put(1, note1);
+        ratings.put(2, note2);
+        ratings.put(3, note3);
+        ratings.put(4, note4);
+        ratings.put(5, note5);
+        long reviews = note1 + note2 + note3 + note4 + note5;
+        long noteSum = note1 + 2 * note2 + 3 * note3 + 4 * note4 + 5 * note5;
+        return StatsGroupDTO.builder()
+                .key(key)
+                .conferences(conferences)
+                .nombreInscrits(nombreInscrits)
+                .reviews(reviews)
+                .averageScore(reviews > 0 ? Math.round((double) noteSum / reviews * 100.0) / 100.0 : null)
+                .ratings(ratings)
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package ma.enset.conferenceservice.services;
+
+import ma.enset.conferenceservice.dtos.KeynoteReplicaStatusDTO;
+import ma.enset.conferenceservice.models.KeynoteDTO;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface KeynoteReplicaService {
+    boolean isReady();
+
+    Map<Long, KeynoteDTO> getKeynotesByIds(Collection<Long> ids);
+
+    int catchUp();
+
+    int resync();
+
+    KeynoteReplicaStatusDTO getStatus();
+}
@@ -0,0 +1,205 @@
+package ma.enset.conferenceservice.services;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.enset.conferenceservice.clients.CachedKeynoteClient;
+import ma.enset.conferenceservice.clients.KeynoteClient;
+import ma.enset.conferenceservice.dtos.KeynoteReplicaStatusDTO;
+import ma.enset.conferenceservice.entities.KeynoteReplica;
+import ma.enset.conferenceservice.entities.KeynoteReplicaState;
+import ma.enset.conferenceservice.enums.KeynoteChangeType;
+import ma.enset.conferenceservice.mappers.ConferenceMapper;
+import ma.enset.conferenceservice.models.KeynoteDTO;
+import ma.enset.conferenceservice.models.KeynoteEventDTO;
+import ma.enset.conferenceservice.models.KeynoteEventPageDTO;
+import ma.enset.conferenceservice.models.KeynoteSnapshotDTO;
+import ma.enset.conferenceservice.repositories.KeynoteReplicaRepository;
+import ma.enset.conferenceservice.repositories.KeynoteReplicaStateRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Local copy of the keynotes, fed by the event feed of keynote-service. Remote calls
+ * are made outside of any transaction, each page of events is then applied in its own
+ * transaction together with the new feed position.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class KeynoteReplicaServiceImpl implements KeynoteReplicaService {
+
+    private final KeynoteClient keynoteClient;
+    private final CachedKeynoteClient cachedKeynoteClient;
+    private final KeynoteReplicaRepository keynoteReplicaRepository;
+    private final KeynoteReplicaStateRepository keynoteReplicaStateRepository;
+    private final ConferenceMapper conferenceMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${keynote.replica.enabled:true}")
+    private boolean enabled;
+
+    @Value("${keynote.replica.batch-size:500}")
+    private int batchSize;
+
+    // Not synchronized: a virtual thread blocked on I/O inside a monitor pins its carrier thread
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private volatile boolean ready;
+    private volatile Instant lastPolledAt;
+
+    // A persistent database keeps its replica across restarts
+    @PostConstruct
+    void init() {
+        ready = enabled && keynoteReplicaStateRepository.existsById(KeynoteReplicaState.SINGLETON_ID);
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public Map<Long, KeynoteDTO> getKeynotesByIds(Collection<Long> ids) {
+        return keynoteReplicaRepository.findAllById(ids).stream()
+                .map(conferenceMapper::toKeynoteDTO)
+                .collect(Collectors.toMap(KeynoteDTO::getId, Function.identity()));
+    }
+
+    @Override
+    public int catchUp() {
+        syncLock.lock();
+        try {
+            KeynoteReplicaState state = keynoteReplicaStateRepository.findById(KeynoteReplicaState.SINGLETON_ID)
+                    .orElse(null);
+            if (state == null) {
+                return resync();
+            }
+
+            long after = state.getLastEventId();
+            int applied = 0;
+            while (true) {
+                KeynoteEventPageDTO page = keynoteClient.getKeynoteEvents(after, batchSize);
+                lastPolledAt = Instant.now();
+                if (page.isResyncRequired()) {
+                    log.warn("Keynote event feed no longer covers position {}, reloading the replica", after);
+                    return resync();
+                }
+
+                long resumeAfter = page.getResumeAfter();
+                Set<Long> changed = transactionTemplate.execute(status -> apply(page.getEvents(), resumeAfter));
+                // Evicted after commit so that conference ETags change once the new keynotes are visible
+                changed.forEach(cachedKeynoteClient::evict);
+                applied += changed.size();
+
+                // Events younger than the settle window of keynote-service come back on the next poll
+                if (page.getEvents().size() < batchSize || resumeAfter == after) {
+                    return applied;
+                }
+                after = resumeAfter;
+            }
+    
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private Set<Long> apply(List<KeynoteEventDTO> events, long resumeAfter) {
+        Set<Long> changed = new HashSet<>();
+        for (KeynoteEventDTO event : events) {
+            if (apply(event)) {
+                changed.add(event.getKeynoteId());
+            }
+        }
+        KeynoteReplicaState state = keynoteReplicaStateRepository.getReferenceById(KeynoteReplicaState.SINGLETON_ID);
+        if (state.getLastEventId() != resumeAfter) {
+            state.setLastEventId(resumeAfter);
+        }
+        return changed;
+    }
+
+    // Events may be delivered more than once, the keynote version keeps them idempotent
+    private boolean apply(KeynoteEventDTO event) {
+        KeynoteReplica replica = keynoteReplicaRepository.findById(event.getKeynoteId()).orElse(null);
+        if (event.getType() == KeynoteChangeType.DELETED) {
+            if (replica == null) {
+                return false;
+            }
+            keynoteReplicaRepository.delete(replica);
+            return true;
+        }
+        if (replica != null && replica.getVersion() != null && event.getKeynoteVersion() != null
+                && replica.getVersion() >= event.getKeynoteVersion()) {
+            return false;
+        }
+        keynoteReplicaRepository.save(KeynoteReplica.builder()
+                .id(event.getKeynoteId())
+                .nom(event.getNom())
+                .prenom(event.getPrenom())
+                .email(event.getEmail())
+                .fonction(event.getFonction())
+                .version(event.getKeynoteVersion())
+                .build());
+        return true;
+    }
+
+    @Override
+    public int resync() {
+        syncLock.lock();
+        try {
+            KeynoteSnapshotDTO snapshot = keynoteClient.getKeynoteSnapshot();
+            lastPolledAt = Instant.now();
+            transactionTemplate.executeWithoutResult(status -> {
+                keynoteReplicaRepository.deleteAllInBatch();
+                keynoteReplicaRepository.saveAll(snapshot.getKeynotes().stream()
+                        .map(keynote -> KeynoteReplica.builder()
+                                .id(keynote.getId())
+                                .nom(keynote.getNom())
+                                .prenom(keynote.getPrenom())
+                                .email(keynote.getEmail())
+                                .fonction(keynote.getFonction())
+                                .version(keynote.getVersion())
+                                .build())
+                        .toList());
+                keynoteReplicaStateRepository.save(KeynoteReplicaState.builder()
+                        .id(KeynoteReplicaState.SINGLETON_ID)
+                        .lastEventId(snapshot.getResumeAfter())
+                        .resyncedAt(Instant.now())
+                        .build());
+            });
+            ready = enabled;
+            cachedKeynoteClient.evictAll();
+            log.info("Keynote replica reloaded with {} keynotes, resuming after event {}",
+                    snapshot.getKeynotes().size(), snapshot.getResumeAfter());
+            return snapshot.getKeynotes().size();
+    
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    @Override
+    public KeynoteReplicaStatusDTO getStatus() {
+        KeynoteReplicaState state = keynoteReplicaStateRepository.findById(KeynoteReplicaState.SINGLETON_ID)
+                .orElse(null);
+        return KeynoteReplicaStatusDTO.builder()
+                .enabled(enabled)
+                .ready(ready)
+                .keynotes(keynoteReplicaRepository.count())
+                .lastEventId(state != null ? state.getLastEventId() : null)
+                .lastPolledAt(lastPolledAt)
+                .resyncedAt(state != null ? state.getResyncedAt() : null)
+                .build();
+    }
+}
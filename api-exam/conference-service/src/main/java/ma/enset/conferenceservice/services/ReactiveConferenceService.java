@@ -0,0 +1,11 @@
+package ma.enset.conferenceservice.services;
+
+import ma.enset.conferenceservice.dtos.ConferenceDTO;
+import ma.enset.conferenceservice.dtos.ReviewDTO;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveConferenceService {
+    Flux<ConferenceDTO> streamConferences(Long after, Integer limit, boolean withKeynotes);
+
+    Flux<ReviewDTO> streamReviews(Long conferenceId);
+}
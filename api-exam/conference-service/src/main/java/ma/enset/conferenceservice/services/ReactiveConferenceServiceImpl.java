@@ -0,0 +1,151 @@
+package ma.enset.conferenceservice.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.enset.conferenceservice.clients.CachedKeynoteClient;
+import ma.enset.conferenceservice.clients.ReactiveKeynoteClient;
+import ma.enset.conferenceservice.dtos.ConferenceDTO;
+import ma.enset.conferenceservice.dtos.ReviewDTO;
+import ma.enset.conferenceservice.exceptions.ConferenceNotFoundException;
+import ma.enset.conferenceservice.logging.SampledLogger;
+import ma.enset.conferenceservice.mappers.ConferenceMapper;
+import ma.enset.conferenceservice.mappers.ReviewMapper;
+import ma.enset.conferenceservice.models.KeynoteDTO;
+import ma.enset.conferenceservice.repositories.ReactiveConferenceRepository;
+import ma.enset.conferenceservice.repositories.ReactiveKeynoteReplicaRepository;
+import ma.enset.conferenceservice.repositories.ReactiveReviewRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Reactive read path over R2DBC. Conferences are streamed in id order and joined with
+ * their keynotes one chunk at a time, with a bounded number of chunks in flight per
+ * stream, so no thread waits on keynote-service.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveConferenceServiceImpl implements ReactiveConferenceService {
+
+    private static final SampledLogger keynoteErrorLog = new SampledLogger(log);
+
+    private final ReactiveConferenceRepository reactiveConferenceRepository;
+    private final ReactiveReviewRepository reactiveReviewRepository;
+    private final ReactiveKeynoteReplicaRepository reactiveKeynoteReplicaRepository;
+    private final ReactiveKeynoteClient reactiveKeynoteClient;
+    private final KeynoteReplicaService keynoteReplicaService;
+    private final CacheManager cacheManager;
+    private final ConferenceMapper conferenceMapper;
+    private final ReviewMapper reviewMapper;
+
+    @Value("${keynote.batch-size:100}")
+    private int batchSize;
+
+    @Value("${keynote.enrichment.max-in-flight:8}")
+    private int maxInFlight;
+
+    @Value("${keynote.enrichment.deadline:2s}")
+    private Duration deadline;
+
+    // r2dbc-h2 runs statements on the subscribing thread, so queries get their own threads
+    // instead of holding a request thread or a WebClient event loop
+    private final Scheduler databaseScheduler = Schedulers.boundedElastic();
+
+    @Override
+    public Flux<ConferenceDTO> streamConferences(Long after, Integer limit, boolean withKeynotes) {
+        log.debug("Streaming conferences after: {}, limit: {}", after, limit);
+        Flux<ConferenceDTO> conferences = reactiveConferenceRepository.findByIdGreaterThanOrderByIdAsc(
+                        after != null ? after : 0L, limit != null ? Limit.of(Math.max(1, limit)) : Limit.unlimited())
+                .subscribeOn(databaseScheduler)
+                .map(conferenceMapper::toDTO);
+        if (!withKeynotes) {
+            return conferences;
+        }
+        // Chunks are enriched concurrently but emitted in their original order
+        return conferences.buffer(batchSize)
+                .flatMapSequential(this::enrichWithKeynotes, maxInFlight)
+                .flatMapIterable(Function.identity());
+    }
+
+    @Override
+    public Flux<ReviewDTO> streamReviews(Long conferenceId) {
+        log.debug("Streaming reviews for conference id: {}", conferenceId);
+        return reactiveConferenceRepository.existsById(conferenceId)
+                .flatMapMany(exists -> exists
+                        ? reactiveReviewRepository.findByConferenceIdOrderByIdAsc(conferenceId).map(reviewMapper::toDTO)
+                        : Flux.error(new ConferenceNotFoundException("Conference not found with id: " + conferenceId)))
+                .subscribeOn(databaseScheduler);
+    }
+
+    private Mono<List<ConferenceDTO>> enrichWithKeynotes(List<ConferenceDTO> chunk) {
+        List<Long> keynoteIds = chunk.stream()
+                .map(ConferenceDTO::getKeynoteId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (keynoteIds.isEmpty()) {
+            return Mono.just(chunk);
+        }
+        return findKeynotes(keynoteIds)
+                .timeout(deadline)
+                .map(keynotes -> {
+                    chunk.forEach(dto -> dto.setKeynote(keynotes.get(dto.getKeynoteId())));
+                    return chunk;
+                })
+                .onErrorResume(e -> {
+                    keynoteErrorLog.error("Error fetching keynotes {}: {}", keynoteIds, e.getMessage());
+                    chunk.forEach(dto -> dto.setKeynoteDegraded(dto.getKeynoteId() != null));
+                    return Mono.just(chunk);
+                });
+    }
+
+    // Same sources as the blocking path: the replica once loaded, else the shared cache then keynote-service
+    private Mono<Map<Long, KeynoteDTO>> findKeynotes(List<Long> keynoteIds) {
+        if (keynoteReplicaService.isReady()) {
+            return reactiveKeynoteReplicaRepository.findAllById(keynoteIds)
+                    .subscribeOn(databaseScheduler)
+                    .map(conferenceMapper::toKeynoteDTO)
+                    .collectMap(KeynoteDTO::getId);
+        }
+
+        Cache cache = cacheManager.getCache(CachedKeynoteClient.CACHE_NAME);
+        Map<Long, KeynoteDTO> keynotes = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : keynoteIds) {
+            KeynoteDTO cached = cache != null ? cache.get(id, KeynoteDTO.class) : null;
+            if (cached != null) {
+                keynotes.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+        if (misses.isEmpty()) {
+            return Mono.just(keynotes);
+        }
+        return reactiveKeynoteClient.getKeynotesByIds(misses)
+                .map(fetched -> {
+                    fetched.forEach(keynote -> {
+                        keynotes.put(keynote.getId(), keynote);
+                        if (cache != null) {
+                            cache.put(keynote.getId(), keynote);
+                        }
+                    });
+                    return keynotes;
+                });
+    }
+}
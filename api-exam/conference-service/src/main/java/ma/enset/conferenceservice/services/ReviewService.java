@@ -1,8 +1,11 @@
 package ma.enset.conferenceservice.services;
 
+import ma.enset.conferenceservice.dtos.CursorPageDTO;
 import ma.enset.conferenceservice.dtos.ReviewDTO;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ReviewService {
     ReviewDTO saveReview(Long conferenceId, ReviewDTO reviewDTO);
@@ -13,7 +16,15 @@ public interface ReviewService {
 
     List<ReviewDTO> getAllReviews();
 
+    CursorPageDTO<ReviewDTO> getReviewsPage(Long after, Integer limit);
+
+    void exportReviews(Consumer<ReviewDTO> consumer);
+
     List<ReviewDTO> getReviewsByConferenceId(Long conferenceId);
 
     void deleteReview(Long id);
+
+    int repairConferenceScores();
+
+    int recomputeConferenceScores(Collection<Long> conferenceIds);
 }
@@ -1,23 +1,37 @@
 package ma.enset.conferenceservice.services;
 
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import ma.enset.conferenceservice.dtos.CursorPageDTO;
 import ma.enset.conferenceservice.dtos.ReviewDTO;
 import ma.enset.conferenceservice.entities.Conference;
 import ma.enset.conferenceservice.entities.Review;
 import ma.enset.conferenceservice.exceptions.ConferenceNotFoundException;
 import ma.enset.conferenceservice.exceptions.ReviewNotFoundException;
 import ma.enset.conferenceservice.mappers.ReviewMapper;
+import ma.enset.conferenceservice.projections.ReviewAggregate;
 import ma.enset.conferenceservice.repositories.ConferenceRepository;
 import ma.enset.conferenceservice.repositories.ReviewRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
+@Observed(name = "review.service")
 @RequiredArgsConstructor
 @Slf4j
 public class ReviewServiceImpl implements ReviewService {
@@ -25,6 +39,14 @@ public class ReviewServiceImpl implements ReviewService {
     private final ReviewRepository reviewRepository;
     private final ConferenceRepository conferenceRepository;
     private final ReviewMapper reviewMapper;
+    private final ConferenceStatsService conferenceStatsService;
+    private final EntityManager entityManager;
+
+    @Value("${pagination.default-limit:50}")
+    private int defaultLimit;
+
+    @Value("${pagination.max-limit:500}")
+    private int maxLimit;
 
     @Override
     public ReviewDTO saveReview(Long conferenceId, ReviewDTO reviewDTO) {
@@ -45,7 +67,8 @@ public class ReviewServiceImpl implements ReviewService {
         Review savedReview = reviewRepository.save(review);
 
         // Update conference score
-        updateConferenceScore(conference);
+        conferenceRepository.applyReviewDelta(conferenceId, 1, savedReview.getNote());
+        conferenceStatsService.reviewNoteChanged(conference, null, savedReview.getNote());
 
         return reviewMapper.toDTO(savedReview);
     }
@@ -57,6 +80,7 @@ public class ReviewServiceImpl implements ReviewService {
         Review existingReview = reviewRepository.findById(id)
                 .orElseThrow(() -> new ReviewNotFoundException("Review not found with id: " + id));
 
+        int previousNote = existingReview.getNote();
         existingReview.setTexte(reviewDTO.getTexte());
         existingReview.setNote(reviewDTO.getNote());
 
@@ -68,34 +92,68 @@ public class ReviewServiceImpl implements ReviewService {
         Review updatedReview = reviewRepository.save(existingReview);
 
         // Update conference score
-        updateConferenceScore(existingReview.getConference());
+        conferenceRepository.applyReviewDelta(existingReview.getConference().getId(), 0,
+                (long) updatedReview.getNote() - previousNote);
+        conferenceStatsService.reviewNoteChanged(existingReview.getConference(), previousNote, updatedReview.getNote());
 
         return reviewMapper.toDTO(updatedReview);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ReviewDTO getReviewById(Long id) {
-        log.info("Getting review with id: {}", id);
+        log.debug("Getting review with id: {}", id);
         Review review = reviewRepository.findById(id)
                 .orElseThrow(() -> new ReviewNotFoundException("Review not found with id: " + id));
         return reviewMapper.toDTO(review);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ReviewDTO> getAllReviews() {
-        log.info("Getting all reviews");
+        log.debug("Getting all reviews");
         List<Review> reviews = reviewRepository.findAll();
         return reviewMapper.toDTOList(reviews);
     }
 
     @Override
-    public List<ReviewDTO> getReviewsByConferenceId(Long conferenceId) {
-        log.info("Getting reviews for conference id: {}", conferenceId);
-        if (!conferenceRepository.existsById(conferenceId)) {
-            throw new ConferenceNotFoundException("Conference not found with id: " + conferenceId);
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ReviewDTO> getReviewsPage(Long after, Integer limit) {
+        log.debug("Getting reviews page after: {}, limit: {}", after, limit);
+        int pageSize = limit == null ? defaultLimit : Math.max(1, Math.min(limit, maxLimit));
+        List<Review> reviews = reviewRepository.findByIdGreaterThanOrderByIdAsc(
+                after != null ? after : 0L, Limit.of(pageSize + 1));
+
+        // Rows are fetched with one extra element to know whether another page follows
+        boolean hasMore = reviews.size() > pageSize;
+        List<Review> items = hasMore ? reviews.subList(0, pageSize) : reviews;
+        return CursorPageDTO.<ReviewDTO>builder()
+                .items(reviewMapper.toDTOList(items))
+                .nextCursor(hasMore ? items.get(items.size() - 1).getId() : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportReviews(Consumer<ReviewDTO> consumer) {
+        log.info("Exporting all reviews");
+        try (Stream<Review> reviews = reviewRepository.streamAll()) {
+            reviews.forEach(review -> {
+                consumer.accept(reviewMapper.toDTO(review));
+                // Keep the persistence context bounded while streaming
+                entityManager.detach(review);
+            });
         }
-        List<Review> reviews = reviewRepository.findByConferenceId(conferenceId);
-        return reviewMapper.toDTOList(reviews);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReviewDTO> getReviewsByConferenceId(Long conferenceId) {
+        log.debug("Getting reviews for conference id: {}", conferenceId);
+        // Conference, review ids and reviews all come from the second-level cache once loaded
+        Conference conference = conferenceRepository.findById(conferenceId)
+                .orElseThrow(() -> new ConferenceNotFoundException("Conference not found with id: " + conferenceId));
+        return reviewMapper.toDTOList(conference.getReviews());
     }
 
     @Override
@@ -105,21 +163,56 @@ public class ReviewServiceImpl implements ReviewService {
                 .orElseThrow(() -> new ReviewNotFoundException("Review not found with id: " + id));
 
         Conference conference = review.getConference();
-        reviewRepository.deleteById(id);
+        reviewRepository.delete(review);
 
         // Update conference score after deletion
-        updateConferenceScore(conference);
+        conferenceRepository.applyReviewDelta(conference.getId(), -1, -review.getNote());
+        conferenceStatsService.reviewNoteChanged(conference, review.getNote(), null);
+    }
+
+    @Override
+    public int repairConferenceScores() {
+        log.info("Recomputing review aggregates of all conferences");
+        Map<Long, ReviewAggregate> aggregates = reviewRepository.aggregateByConference().stream()
+                .collect(Collectors.toMap(ReviewAggregate::getConferenceId, Function.identity()));
+
+        int repaired = applyAggregates(conferenceRepository.findAll(), aggregates);
+        log.info("Repaired review aggregates of {} conferences", repaired);
+        return repaired;
+    }
+
+    @Override
+    public int recomputeConferenceScores(Collection<Long> conferenceIds) {
+        log.info("Recomputing review aggregates of {} conferences", conferenceIds.size());
+        List<Long> ids = new ArrayList<>(conferenceIds);
+        int recomputed = 0;
+        // Bounded IN lists
+        for (int from = 0; from < ids.size(); from += 1000) {
+            List<Long> chunk = ids.subList(from, Math.min(from + 1000, ids.size()));
+            Map<Long, ReviewAggregate> aggregates = reviewRepository.aggregateByConferenceIdIn(chunk).stream()
+                    .collect(Collectors.toMap(ReviewAggregate::getConferenceId, Function.identity()));
+            recomputed += applyAggregates(conferenceRepository.findAllById(chunk), aggregates);
+        }
+        return recomputed;
     }
 
-    private void updateConferenceScore(Conference conference) {
-        List<Review> reviews = reviewRepository.findByConferenceId(conference.getId());
-        if (!reviews.isEmpty()) {
-            double averageScore = reviews.stream()
-                    .mapToInt(Review::getNote)
-                    .average()
-                    .orElse(0.0);
-            conference.setScore(Math.round(averageScore * 100.0) / 100.0);
-            conferenceRepository.save(conference);
+    // Returns the number of conferences whose stored aggregates differed
+    private int applyAggregates(List<Conference> conferences, Map<Long, ReviewAggregate> aggregates) {
+        int repaired = 0;
+        for (Conference conference : conferences) {
+            ReviewAggregate aggregate = aggregates.get(conference.getId());
+            int reviewCount = aggregate != null ? aggregate.getReviewCount().intValue() : 0;
+            long noteSum = aggregate != null ? aggregate.getNoteSum() : 0L;
+            if (reviewCount == conference.getReviewCount() && noteSum == conference.getNoteSum()) {
+                continue;
+            }
+            conference.setReviewCount(reviewCount);
+            conference.setNoteSum(noteSum);
+            if (reviewCount > 0) {
+                conference.setScore(Math.round((double) noteSum / reviewCount * 100.0) / 100.0);
+            }
+            repaired++;
         }
+        return repaired;
     }
 }
@@ -0,0 +1,140 @@
+package ma.enset.conferenceservice.services;
+
+import ma.enset.conferenceservice.entities.Conference;
+import ma.enset.conferenceservice.enums.ConferenceType;
+import ma.enset.conferenceservice.enums.StatsDimension;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Changes to the stats rollups, summed per group so that a batch of writes costs
+ * one update per group it touches. Each group holds
+ * [conferences, nombreInscrits, note1, ..., note5].
+ */
+public class StatsDeltas {
+
+    public static final String NONE = "none";
+    private static final int WIDTH = 7;
+
+    private final Map<Group, long[]> deltas = new LinkedHashMap<>();
+
+    public void addConference(Conference conference, int sign, long[] notes) {
+        add(conference.getType(), monthOf(conference.getDate()), conference.getKeynoteId(),
+                sign, (long) sign * inscritsOf(conference), notes, sign);
+    }
+
+    // Moves a conference and its reviews between groups, or only adjusts its registrations when no group changed
+    public void moveConference(Conference before, Conference after, long[] notes) {
+        for (StatsDimension dimension : StatsDimension.values()) {
+            String previousKey = keyOf(dimension, before.getType(), monthOf(before.getDate()), before.getKeynoteId());
+            String key = keyOf(dimension, after.getType(), monthOf(after.getDate()), after.getKeynoteId());
+            if (previousKey.equals(key)) {
+                delta(dimension, key)[1] += inscritsOf(after) - inscritsOf(before);
+            } else {
+                apply(delta(dimension, previousKey), -1, -inscritsOf(before), notes, -1);
+                apply(delta(dimension, key), 1, inscritsOf(after), notes, 1);
+            }
+        }
+    }
+
+    public void addNote(Conference conference, int note, long reviews) {
+        long[] notes = new long[5];
+        notes[note - 1] = reviews;
+        add(conference.getType(), monthOf(conference.getDate()), conference.getKeynoteId(), 0, 0, notes, 1);
+    }
+
+    public void addGroup(ConferenceType type, YearMonth month, Long keynoteId, long conferences, long nombreInscrits) {
+        add(type, month, keynoteId, conferences, nombreInscrits, null, 0);
+    }
+
+    public void addGroupNotes(ConferenceType type, YearMonth month, Long keynoteId, int note, long reviews) {
+        long[] notes = new long[5];
+        notes[note - 1] = reviews;
+        add(type, month, keynoteId, 0, 0, notes, 1);
+    }
+
+    public boolean isEmpty() {
+        return deltas.values().stream().allMatch(StatsDeltas::isZero);
+    }
+
+    void forEach(BiConsumer<Group, long[]> consumer) {
+        deltas.forEach((group, delta) -> {
+            if (!isZero(delta)) {
+                consumer.accept(group, delta);
+            }
+        });
+    }
+
+    // Copy of the fields that decide the groups of a conference, taken before it is modified
+    public static Conference snapshot(Conference conference) {
+        return Conference.builder()
+                .id(conference.getId())
+                .type(conference.getType())
+                .date(conference.getDate())
+                .keynoteId(conference.getKeynoteId())
+                .nombreInscrits(conference.getNombreInscrits())
+                .build();
+    }
+
+    // True when the conference has to be moved with its reviews rather than adjusted in place
+    public static boolean changesGroup(Conference before, Conference after) {
+        return before.getType() != after.getType()
+                || !Objects.equals(monthOf(before.getDate()), monthOf(after.getDate()))
+                || !Objects.equals(before.getKeynoteId(), after.getKeynoteId());
+    }
+
+    public static String keyOf(StatsDimension dimension, ConferenceType type, YearMonth month, Long keynoteId) {
+        Object key = switch (dimension) {
+            case TYPE -> type;
+            case MONTH -> month;
+            case KEYNOTE -> keynoteId;
+        };
+        return key != null ? key.toString() : NONE;
+    }
+
+    public static YearMonth monthOf(LocalDate date) {
+        return date != null ? YearMonth.from(date) : null;
+    }
+
+    private void add(ConferenceType type, YearMonth month, Long keynoteId,
+                     long conferences, long nombreInscrits, long[] notes, int noteSign) {
+        for (StatsDimension dimension : StatsDimension.values()) {
+            apply(delta(dimension, keyOf(dimension, type, month, keynoteId)), conferences, nombreInscrits, notes, noteSign);
+        }
+    }
+
+    private long[] delta(StatsDimension dimension, String key) {
+        return deltas.computeIfAbsent(new Group(dimension, key), group -> new long[WIDTH]);
+    }
+
+    private static void apply(long[] delta, long conferences, long nombreInscrits, long[] notes, int noteSign) {
+        delta[0] += conferences;
+        delta[1] += nombreInscrits;
+        if (notes != null) {
+            for (int i = 0; i < 5; i++) {
+                delta[2 + i] += noteSign * notes[i];
+            }
+        }
+    }
+
+    private static long inscritsOf(Conference conference) {
+        return conference.getNombreInscrits() != null ? conference.getNombreInscrits() : 0;
+    }
+
+    private static boolean isZero(long[] delta) {
+        for (long value : delta) {
+            if (value != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    record Group(StatsDimension dimension, String key) {
+    }
+}
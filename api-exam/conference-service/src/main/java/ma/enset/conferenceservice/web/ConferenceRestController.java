@@ -1,5 +1,6 @@
 package ma.enset.conferenceservice.web;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -9,14 +10,30 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import ma.enset.conferenceservice.dtos.ConferenceDTO;
+import ma.enset.conferenceservice.dtos.ConferenceQueryDTO;
+import ma.enset.conferenceservice.dtos.CursorPageDTO;
+import ma.enset.conferenceservice.dtos.ImportReportDTO;
+import ma.enset.conferenceservice.dtos.QueryPageDTO;
 import ma.enset.conferenceservice.dtos.ReviewDTO;
+import ma.enset.conferenceservice.dtos.SearchResultDTO;
+import ma.enset.conferenceservice.enums.ConferenceSortField;
 import ma.enset.conferenceservice.enums.ConferenceType;
+import ma.enset.conferenceservice.enums.ImportFormat;
+import ma.enset.conferenceservice.services.BulkImportService;
 import ma.enset.conferenceservice.services.ConferenceService;
 import ma.enset.conferenceservice.services.ReviewService;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -27,33 +44,81 @@ public class ConferenceRestController {
 
     private final ConferenceService conferenceService;
     private final ReviewService reviewService;
+    private final BulkImportService bulkImportService;
+    private final ObjectMapper objectMapper;
 
-    @Operation(summary = "Get all conferences", description = "Retrieve a list of all conferences with keynote information")
+    @Operation(summary = "Get all conferences", description = "Retrieve a list of all conferences with keynote information, paginated by id when limit or after is given")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved list", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ConferenceDTO.class)))
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ConferenceDTO.class))),
+            @ApiResponse(responseCode = "304", description = "List unchanged since the given ETag")
     })
     @GetMapping
     public ResponseEntity<List<ConferenceDTO>> getAllConferences(
-            @Parameter(description = "Include keynote details") @RequestParam(defaultValue = "true") boolean withKeynotes) {
-        if (withKeynotes) {
-            return ResponseEntity.ok(conferenceService.getAllConferencesWithKeynotes());
+            @Parameter(description = "Include keynote details") @RequestParam(defaultValue = "true") boolean withKeynotes,
+            @Parameter(description = "Return conferences with an id greater than this cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum page size") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Related data to include, e.g. reviews") @RequestParam(required = false) List<String> include,
+            @Parameter(description = "ETag of the copy held by the client") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.of(conferenceService.getConferencesVersion(),
+                withKeynotes ? conferenceService.getKeynoteGeneration() : null, include);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
         }
-        return ResponseEntity.ok(conferenceService.getAllConferences());
+
+        List<ConferenceDTO> conferences;
+        ResponseEntity<List<ConferenceDTO>> response;
+        if (after != null || limit != null) {
+            CursorPageDTO<ConferenceDTO> page = conferenceService.getConferencesPage(after, limit, withKeynotes);
+            conferences = withIncludes(page.getItems(), include);
+            response = CursorPagination.toResponse(page);
+        } else {
+            conferences = withIncludes(withKeynotes
+                    ? conferenceService.getAllConferencesWithKeynotes()
+                    : conferenceService.getAllConferences(), include);
+            response = ResponseEntity.ok(conferences);
+        }
+        return conditional(response, conferences.stream().anyMatch(ConferenceDTO::isKeynoteDegraded) ? null : etag);
+    }
+
+    @Operation(summary = "Export all conferences", description = "Stream every conference as newline-delimited JSON")
+    @GetMapping(value = "/export", produces = CursorPagination.NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportConferences() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(CursorPagination.NDJSON))
+                .body(CursorPagination.ndjson(objectMapper, conferenceService::exportConferences));
+    }
+
+    @Operation(summary = "Bulk import conferences", description = "Insert or update conferences from NDJSON (one object per line) or CSV (header line first). Rows with an id update that conference, the others are inserted. Invalid rows are reported without stopping the import")
+    @PostMapping(value = "/import", consumes = {CursorPagination.NDJSON, CursorPagination.CSV})
+    public ResponseEntity<ImportReportDTO> importConferences(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @Parameter(hidden = true) InputStream body) {
+        return ResponseEntity.ok(bulkImportService.importConferences(body, ImportFormat.fromContentType(contentType)));
     }
 
     @Operation(summary = "Get conference by ID", description = "Retrieve a conference by its ID with keynote information")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved conference"),
+            @ApiResponse(responseCode = "304", description = "Conference unchanged since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Conference not found")
     })
     @GetMapping("/{id}")
     public ResponseEntity<ConferenceDTO> getConferenceById(
             @Parameter(description = "Conference ID") @PathVariable Long id,
-            @Parameter(description = "Include keynote details") @RequestParam(defaultValue = "true") boolean withKeynote) {
-        if (withKeynote) {
-            return ResponseEntity.ok(conferenceService.getConferenceByIdWithKeynote(id));
+            @Parameter(description = "Include keynote details") @RequestParam(defaultValue = "true") boolean withKeynote,
+            @Parameter(description = "Related data to include, e.g. reviews") @RequestParam(required = false) List<String> include,
+            @Parameter(description = "ETag of the copy held by the client") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.of(conferenceService.getConferenceVersion(id),
+                withKeynote ? conferenceService.getKeynoteGeneration() : null, include);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
         }
-        return ResponseEntity.ok(conferenceService.getConferenceById(id));
+
+        ConferenceDTO conference = withKeynote
+                ? conferenceService.getConferenceByIdWithKeynote(id)
+                : conferenceService.getConferenceById(id);
+        withIncludes(List.of(conference), include);
+        return conditional(ResponseEntity.ok(conference), conference.isKeynoteDegraded() ? null : etag);
     }
 
     @Operation(summary = "Create a new conference", description = "Create a new conference")
@@ -70,13 +135,21 @@ public class ConferenceRestController {
     @Operation(summary = "Update a conference", description = "Update an existing conference by ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Conference updated successfully"),
-            @ApiResponse(responseCode = "404", description = "Conference not found")
+            @ApiResponse(responseCode = "404", description = "Conference not found"),
+            @ApiResponse(responseCode = "409", description = "Conference modified concurrently"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version")
     })
     @PutMapping("/{id}")
     public ResponseEntity<ConferenceDTO> updateConference(
             @Parameter(description = "Conference ID") @PathVariable Long id,
+            @Parameter(description = "ETag of the version being updated") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody ConferenceDTO conferenceDTO) {
-        return ResponseEntity.ok(conferenceService.updateConference(id, conferenceDTO));
+        ConferenceDTO updatedConference = conferenceService.updateConference(id, conferenceDTO, ETags.expectedVersion(ifMatch));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (updatedConference != null) {
+            response.eTag(ETags.of(updatedConference.getVersion(), null, null));
+        }
+        return response.body(updatedConference);
     }
 
     @Operation(summary = "Delete a conference", description = "Delete a conference by ID")
@@ -94,22 +167,80 @@ public class ConferenceRestController {
     @Operation(summary = "Get conferences by type", description = "Retrieve conferences by type (ACADEMIC or COMMERCIAL)")
     @GetMapping("/type/{type}")
     public ResponseEntity<List<ConferenceDTO>> getConferencesByType(
-            @Parameter(description = "Conference Type") @PathVariable ConferenceType type) {
-        return ResponseEntity.ok(conferenceService.getConferencesByType(type));
+            @Parameter(description = "Conference Type") @PathVariable ConferenceType type,
+            @Parameter(description = "Return conferences with an id greater than this cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum page size") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Related data to include, e.g. reviews") @RequestParam(required = false) List<String> include) {
+        if (after != null || limit != null) {
+            CursorPageDTO<ConferenceDTO> page = conferenceService.getConferencesByTypePage(type, after, limit);
+            withIncludes(page.getItems(), include);
+            return CursorPagination.toResponse(page);
+        }
+        return ResponseEntity.ok(withIncludes(conferenceService.getConferencesByType(type), include));
+    }
+
+    @Operation(summary = "Query conferences", description = "Combine date range, type, keynote, minimum score, minimum registrations and title filters in one query, sorted and paginated by keyset. Conferences without a value for the sort field come last. The cursor of the next page is returned in the X-Next-Cursor header")
+    @GetMapping("/query")
+    public ResponseEntity<List<ConferenceDTO>> queryConferences(
+            @Parameter(description = "Earliest conference date, inclusive") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Latest conference date, inclusive") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Conference Type") @RequestParam(required = false) ConferenceType type,
+            @Parameter(description = "Keynote ID") @RequestParam(required = false) Long keynoteId,
+            @Parameter(description = "Minimum score") @RequestParam(required = false) Double minScore,
+            @Parameter(description = "Minimum number of registrations") @RequestParam(required = false) Integer minInscrits,
+            @Parameter(description = "Text contained in the title, case insensitive") @RequestParam(required = false) String titre,
+            @Parameter(description = "Sort field") @RequestParam(defaultValue = "DATE") ConferenceSortField sort,
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @Parameter(description = "Cursor returned in X-Next-Cursor by the previous page") @RequestParam(required = false) String after,
+            @Parameter(description = "Maximum page size") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Related data to include, e.g. reviews") @RequestParam(required = false) List<String> include) {
+        QueryPageDTO<ConferenceDTO> page = conferenceService.queryConferences(ConferenceQueryDTO.builder()
+                .from(from)
+                .to(to)
+                .type(type)
+                .keynoteId(keynoteId)
+                .minScore(minScore)
+                .minInscrits(minInscrits)
+                .titre(titre)
+                .sort(sort)
+                .direction(direction)
+                .after(after)
+                .limit(limit)
+                .build());
+        withIncludes(page.getItems(), include);
+        return CursorPagination.toResponse(page);
     }
 
     @Operation(summary = "Search conferences by title", description = "Search conferences by their title")
     @GetMapping("/search")
     public ResponseEntity<List<ConferenceDTO>> searchByTitre(
-            @Parameter(description = "Title to search") @RequestParam String titre) {
-        return ResponseEntity.ok(conferenceService.searchByTitre(titre));
+            @Parameter(description = "Title to search") @RequestParam String titre,
+            @Parameter(description = "Related data to include, e.g. reviews") @RequestParam(required = false) List<String> include) {
+        return ResponseEntity.ok(withIncludes(conferenceService.searchByTitre(titre), include));
+    }
+
+    @Operation(summary = "Full-text search conferences", description = "Ranked search on conference titles with prefix and fuzzy matching")
+    @GetMapping("/search/fulltext")
+    public ResponseEntity<SearchResultDTO<ConferenceDTO>> fullTextSearch(
+            @Parameter(description = "Text to search") @RequestParam String q,
+            @Parameter(description = "Page index, starting at 0") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(conferenceService.fullTextSearch(q, page, size));
+    }
+
+    @Operation(summary = "Rebuild the search index", description = "Reindex every conference from the database")
+    @PostMapping("/search/reindex")
+    public ResponseEntity<Void> rebuildSearchIndex() {
+        conferenceService.rebuildSearchIndex();
+        return ResponseEntity.noContent().build();
     }
 
     @Operation(summary = "Get conferences by keynote", description = "Get all conferences for a specific keynote")
     @GetMapping("/keynote/{keynoteId}")
     public ResponseEntity<List<ConferenceDTO>> getConferencesByKeynoteId(
-            @Parameter(description = "Keynote ID") @PathVariable Long keynoteId) {
-        return ResponseEntity.ok(conferenceService.getConferencesByKeynoteId(keynoteId));
+            @Parameter(description = "Keynote ID") @PathVariable Long keynoteId,
+            @Parameter(description = "Related data to include, e.g. reviews") @RequestParam(required = false) List<String> include) {
+        return ResponseEntity.ok(withIncludes(conferenceService.getConferencesByKeynoteId(keynoteId), include));
     }
 
     // Review endpoints nested under conferences
@@ -133,4 +264,24 @@ public class ConferenceRestController {
         ReviewDTO savedReview = reviewService.saveReview(conferenceId, reviewDTO);
         return new ResponseEntity<>(savedReview, HttpStatus.CREATED);
     }
+
+    // no-cache lets browsers keep the body but revalidate it with If-None-Match on every use
+    private static <T> ResponseEntity<T> conditional(ResponseEntity<T> response, String etag) {
+        if (etag == null) {
+            return response;
+        }
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(response.getBody());
+    }
+
+    // Reviews are only loaded, with a single batched query, when the caller asks for them
+    private List<ConferenceDTO> withIncludes(List<ConferenceDTO> conferences, List<String> include) {
+        if (include != null && include.contains("reviews")) {
+            conferenceService.loadReviews(conferences);
+        }
+        return conferences;
+    }
 }
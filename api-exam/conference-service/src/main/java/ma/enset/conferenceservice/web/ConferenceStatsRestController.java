@@ -0,0 +1,52 @@
+package ma.enset.conferenceservice.web;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import ma.enset.conferenceservice.dtos.ConferenceStatsDTO;
+import ma.enset.conferenceservice.dtos.StatsGroupDTO;
+import ma.enset.conferenceservice.enums.StatsDimension;
+import ma.enset.conferenceservice.services.ConferenceStatsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/conferences/stats")
+@RequiredArgsConstructor
+@Tag(name = "Conference Stats", description = "Pre-aggregated conference and review statistics")
+public class ConferenceStatsRestController {
+
+    private final ConferenceStatsService conferenceStatsService;
+
+    @Operation(summary = "Get conference stats", description = "Totals plus counts, registrations, average score and rating histogram by type, month and keynote")
+    @GetMapping
+    public ResponseEntity<ConferenceStatsDTO> getStats() {
+        return ResponseEntity.ok(conferenceStatsService.getStats());
+    }
+
+    @Operation(summary = "Get conference stats by type", description = "One group per conference type")
+    @GetMapping("/by-type")
+    public ResponseEntity<List<StatsGroupDTO>> getStatsByType() {
+        return ResponseEntity.ok(conferenceStatsService.getStats(StatsDimension.TYPE));
+    }
+
+    @Operation(summary = "Get conference stats by month", description = "One group per month of the conference date, keyed yyyy-MM")
+    @GetMapping("/by-month")
+    public ResponseEntity<List<StatsGroupDTO>> getStatsByMonth() {
+        return ResponseEntity.ok(conferenceStatsService.getStats(StatsDimension.MONTH));
+    }
+
+    @Operation(summary = "Get conference stats by keynote", description = "One group per keynote id")
+    @GetMapping("/by-keynote")
+    public ResponseEntity<List<StatsGroupDTO>> getStatsByKeynote() {
+        return ResponseEntity.ok(conferenceStatsService.getStats(StatsDimension.KEYNOTE));
+    }
+
+    @Operation(summary = "Rebuild conference stats", description = "Recompute every rollup group from the conferences and reviews stored")
+    @PostMapping("/rebuild")
+    public ResponseEntity<Integer> rebuildStats() {
+        return ResponseEntity.ok(conferenceStatsService.rebuildStats());
+    }
+}
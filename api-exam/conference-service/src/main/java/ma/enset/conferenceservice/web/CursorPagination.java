@@ -0,0 +1,50 @@
+package ma.enset.conferenceservice.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ma.enset.conferenceservice.dtos.CursorPageDTO;
+import ma.enset.conferenceservice.dtos.QueryPageDTO;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+final class CursorPagination {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String NDJSON = "application/x-ndjson";
+    static final String CSV = "text/csv";
+
+    private CursorPagination() {
+    }
+
+    static <T> ResponseEntity<List<T>> toResponse(CursorPageDTO<T> page) {
+        return toResponse(page.getItems(), page.getNextCursor() != null ? page.getNextCursor().toString() : null);
+    }
+
+    static <T> ResponseEntity<List<T>> toResponse(QueryPageDTO<T> page) {
+        return toResponse(page.getItems(), page.getNextCursor());
+    }
+
+    private static <T> ResponseEntity<List<T>> toResponse(List<T> items, String nextCursor) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(items);
+    }
+
+    // Writes one JSON document per line as the exporter produces them, without buffering the whole result
+    static <T> StreamingResponseBody ndjson(ObjectMapper objectMapper, Consumer<Consumer<T>> exporter) {
+        return outputStream -> exporter.accept(item -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(item));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
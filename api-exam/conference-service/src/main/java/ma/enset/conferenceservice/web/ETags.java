@@ -0,0 +1,72 @@
+package ma.enset.conferenceservice.web;
+
+import ma.enset.conferenceservice.projections.TableVersion;
+
+import java.util.List;
+
+/**
+ * Strong ETags built from entity versions, so that conditional requests can be answered
+ * from a version query instead of loading and mapping entities.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Long version, Long keynoteGeneration, List<String> include) {
+        return quote(version + variant(keynoteGeneration, include));
+    }
+
+    static String of(TableVersion tableVersion, Long keynoteGeneration, List<String> include) {
+        return quote(tableVersion.getRowCount() + "-" + tableVersion.getVersionSum() + "-" + tableVersion.getMaxId()
+                + variant(keynoteGeneration, include));
+    }
+
+    // Weak comparison, as required for If-None-Match
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Version expected by an If-Match header, null when absent or "*"
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        tag = tag.replace("\"", "");
+        int end = tag.indexOf('-');
+        try {
+            return Long.valueOf(end < 0 ? tag : tag.substring(0, end));
+        } catch (NumberFormatException e) {
+            // Never matches a real version, so the update is rejected
+            return -1L;
+        }
+    }
+
+    private static String variant(Long keynoteGeneration, List<String> include) {
+        StringBuilder variant = new StringBuilder();
+        if (keynoteGeneration != null) {
+            variant.append("-k").append(keynoteGeneration);
+        }
+        if (include != null && include.contains("reviews")) {
+            variant.append("-reviews");
+        }
+        return variant.toString();
+    }
+
+    private static String quote(String tag) {
+        return '"' + tag + '"';
+    }
+}
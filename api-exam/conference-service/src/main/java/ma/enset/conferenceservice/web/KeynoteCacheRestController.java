@@ -0,0 +1,33 @@
+package ma.enset.conferenceservice.web;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import ma.enset.conferenceservice.clients.CachedKeynoteClient;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/keynote-cache")
+@RequiredArgsConstructor
+@Tag(name = "Keynote Cache", description = "Local keynote cache invalidation API")
+public class KeynoteCacheRestController {
+
+    private final CachedKeynoteClient cachedKeynoteClient;
+
+    @Operation(summary = "Evict a cached keynote", description = "Called by keynote-service when a keynote is updated or deleted")
+    @DeleteMapping("/{keynoteId}")
+    public ResponseEntity<Void> evictKeynote(
+            @Parameter(description = "Keynote ID") @PathVariable Long keynoteId) {
+        cachedKeynoteClient.evict(keynoteId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Evict all cached keynotes", description = "Clear the local keynote cache")
+    @DeleteMapping
+    public ResponseEntity<Void> evictAllKeynotes() {
+        cachedKeynoteClient.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+}
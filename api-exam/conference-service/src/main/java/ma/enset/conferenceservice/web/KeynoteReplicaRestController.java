@@ -0,0 +1,38 @@
+package ma.enset.conferenceservice.web;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import ma.enset.conferenceservice.dtos.KeynoteReplicaStatusDTO;
+import ma.enset.conferenceservice.services.KeynoteReplicaService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/keynote-replica")
+@RequiredArgsConstructor
+@Tag(name = "Keynote Replica", description = "Local read-only copy of the keynotes")
+public class KeynoteReplicaRestController {
+
+    private final KeynoteReplicaService keynoteReplicaService;
+
+    @Operation(summary = "Get replica status", description = "Feed position, number of keynotes and last synchronisations")
+    @GetMapping
+    public ResponseEntity<KeynoteReplicaStatusDTO> getStatus() {
+        return ResponseEntity.ok(keynoteReplicaService.getStatus());
+    }
+
+    @Operation(summary = "Catch up with keynote-service", description = "Apply the pending keynote events now instead of waiting for the next poll")
+    @PostMapping("/catch-up")
+    public ResponseEntity<KeynoteReplicaStatusDTO> catchUp() {
+        keynoteReplicaService.catchUp();
+        return ResponseEntity.ok(keynoteReplicaService.getStatus());
+    }
+
+    @Operation(summary = "Reload the replica", description = "Replace the replica with a full copy of the keynotes")
+    @PostMapping("/resync")
+    public ResponseEntity<KeynoteReplicaStatusDTO> resync() {
+        keynoteReplicaService.resync();
+        return ResponseEntity.ok(keynoteReplicaService.getStatus());
+    }
+}
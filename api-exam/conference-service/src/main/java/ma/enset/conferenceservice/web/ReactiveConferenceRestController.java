@@ -0,0 +1,35 @@
+package ma.enset.conferenceservice.web;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import ma.enset.conferenceservice.dtos.ConferenceDTO;
+import ma.enset.conferenceservice.dtos.ReviewDTO;
+import ma.enset.conferenceservice.services.ReactiveConferenceService;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/api/conferences/stream")
+@RequiredArgsConstructor
+@Tag(name = "Conference Stream", description = "Reactive conference read API, streamed as newline-delimited JSON")
+public class ReactiveConferenceRestController {
+
+    private final ReactiveConferenceService reactiveConferenceService;
+
+    @Operation(summary = "Stream conferences", description = "Stream conferences in id order, with keynote information unless disabled. The request thread is released while the stream waits on the database or keynote-service")
+    @GetMapping(produces = CursorPagination.NDJSON)
+    public Flux<ConferenceDTO> streamConferences(
+            @Parameter(description = "Include keynote details") @RequestParam(defaultValue = "true") boolean withKeynotes,
+            @Parameter(description = "Stream conferences with an id greater than this cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of conferences, all by default") @RequestParam(required = false) Integer limit) {
+        return reactiveConferenceService.streamConferences(after, limit, withKeynotes);
+    }
+
+    @Operation(summary = "Stream reviews of a conference", description = "Stream the reviews of a conference in id order")
+    @GetMapping(value = "/{id}/reviews", produces = CursorPagination.NDJSON)
+    public Flux<ReviewDTO> streamReviews(@Parameter(description = "Conference ID") @PathVariable Long id) {
+        return reactiveConferenceService.streamReviews(id);
+    }
+}
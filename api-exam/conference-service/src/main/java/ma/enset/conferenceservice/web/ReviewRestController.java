@@ -1,16 +1,24 @@
 package ma.enset.conferenceservice.web;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import ma.enset.conferenceservice.dtos.ImportReportDTO;
 import ma.enset.conferenceservice.dtos.ReviewDTO;
+import ma.enset.conferenceservice.enums.ImportFormat;
+import ma.enset.conferenceservice.services.BulkImportService;
 import ma.enset.conferenceservice.services.ReviewService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -20,13 +28,42 @@ import java.util.List;
 public class ReviewRestController {
 
     private final ReviewService reviewService;
+    private final BulkImportService bulkImportService;
+    private final ObjectMapper objectMapper;
 
-    @Operation(summary = "Get all reviews", description = "Retrieve a list of all reviews")
+    @Operation(summary = "Get all reviews", description = "Retrieve a list of all reviews, paginated by id when limit or after is given")
     @GetMapping
-    public ResponseEntity<List<ReviewDTO>> getAllReviews() {
+    public ResponseEntity<List<ReviewDTO>> getAllReviews(
+            @Parameter(description = "Return reviews with an id greater than this cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum page size") @RequestParam(required = false) Integer limit) {
+        if (after != null || limit != null) {
+            return CursorPagination.toResponse(reviewService.getReviewsPage(after, limit));
+        }
         return ResponseEntity.ok(reviewService.getAllReviews());
     }
 
+    @Operation(summary = "Export all reviews", description = "Stream every review as newline-delimited JSON")
+    @GetMapping(value = "/export", produces = CursorPagination.NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportReviews() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(CursorPagination.NDJSON))
+                .body(CursorPagination.ndjson(objectMapper, reviewService::exportReviews));
+    }
+
+    @Operation(summary = "Bulk import reviews", description = "Insert or update reviews from NDJSON (one object per line) or CSV (header line first). New rows need a conferenceId, rows with an id update that review. Scores are recomputed once per affected conference at the end")
+    @PostMapping(value = "/import", consumes = {CursorPagination.NDJSON, CursorPagination.CSV})
+    public ResponseEntity<ImportReportDTO> importReviews(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @Parameter(hidden = true) InputStream body) {
+        return ResponseEntity.ok(bulkImportService.importReviews(body, ImportFormat.fromContentType(contentType)));
+    }
+
+    @Operation(summary = "Repair conference scores", description = "Recompute review count, note sum and score of every conference from its reviews")
+    @PostMapping("/score-repair")
+    public ResponseEntity<Integer> repairConferenceScores() {
+        return ResponseEntity.ok(reviewService.repairConferenceScores());
+    }
+
     @Operation(summary = "Get review by ID", description = "Retrieve a review by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved review"),
@@ -0,0 +1,37 @@
+create sequence conference_seq start with 1 increment by 50;
+
+create sequence review_seq start with 1 increment by 50;
+
+create table conference (
+    id bigint not null,
+    titre varchar(255),
+    type varchar(255) check (type in ('ACADEMIC', 'COMMERCIAL')),
+    date date,
+    duree integer,
+    nombre_inscrits integer,
+    score float(53),
+    review_count integer not null default 0,
+    note_sum bigint not null default 0,
+    keynote_id bigint,
+    version bigint,
+    primary key (id)
+);
+
+create table review (
+    id bigint not null,
+    date date,
+    texte varchar(2000),
+    note integer,
+    version bigint,
+    conference_id bigint,
+    primary key (id),
+    constraint fk_review_conference foreign key (conference_id) references conference
+);
+
+-- Enrichissement par keynote, filtres par type et tri/plages de dates
+create index idx_conference_keynote_id on conference (keynote_id);
+create index idx_conference_type on conference (type);
+create index idx_conference_date on conference (date);
+
+-- Reviews d'une conference et agregats de score
+create index idx_review_conference_id on review (conference_id);
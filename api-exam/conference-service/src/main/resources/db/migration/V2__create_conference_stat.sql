@@ -0,0 +1,15 @@
+-- Rollups des statistiques par type, mois et keynote, reconstruites au démarrage si vides, puis maintenues à chaque écriture
+create table conference_stat (
+    id bigint generated by default as identity,
+    dimension varchar(255) not null check (dimension in ('TYPE', 'MONTH', 'KEYNOTE')),
+    group_key varchar(255) not null,
+    conferences bigint not null,
+    nombre_inscrits bigint not null,
+    note1 bigint not null,
+    note2 bigint not null,
+    note3 bigint not null,
+    note4 bigint not null,
+    note5 bigint not null,
+    primary key (id),
+    constraint uk_conference_stat_group unique (dimension, group_key)
+);
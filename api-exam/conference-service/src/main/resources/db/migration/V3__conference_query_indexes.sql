@@ -0,0 +1,13 @@
+-- Index composites de GET /api/conferences/query : filtre d'égalité puis tri par date,
+-- et tris (avec leur filtre de minimum) par date, score ou inscrits, départagés par id.
+-- H2 ne parcourt un index que dans son sens de création : score et inscrits sont triés
+-- du plus grand au plus petit, comme les classements qui les lisent
+drop index idx_conference_keynote_id;
+drop index idx_conference_type;
+drop index idx_conference_date;
+
+create index idx_conference_type_date on conference (type, date, id);
+create index idx_conference_keynote_date on conference (keynote_id, date, id);
+create index idx_conference_date on conference (date, id);
+create index idx_conference_score on conference (score desc, id desc);
+create index idx_conference_inscrits on conference (nombre_inscrits desc, id desc);
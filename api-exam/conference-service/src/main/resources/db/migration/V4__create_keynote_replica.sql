@@ -0,0 +1,18 @@
+-- Copie locale des keynotes, alimentée par le flux d'événements de keynote-service
+create table keynote_replica (
+    id bigint not null,
+    nom varchar(255),
+    prenom varchar(255),
+    email varchar(255),
+    fonction varchar(255),
+    version bigint,
+    primary key (id)
+);
+
+-- Position de la copie dans le flux, une seule ligne
+create table keynote_replica_state (
+    id integer not null,
+    last_event_id bigint not null,
+    resynced_at timestamp(6) with time zone,
+    primary key (id)
+);
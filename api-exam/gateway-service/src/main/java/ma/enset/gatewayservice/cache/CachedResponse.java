@@ -0,0 +1,12 @@
+package ma.enset.gatewayservice.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * Upstream response kept by {@link ResponseCacheFilter}, along with the time it took to
+ * produce it so that hits can report the latency they saved.
+ */
+public record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, String etag,
+                             long upstreamNanos) {
+}
@@ -0,0 +1,279 @@
+package ma.enset.gatewayservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves configured GET routes from a local cache instead of the downstream service.
+ * Entries are keyed on path, query and the configured JWT claims, carry an ETag for
+ * If-None-Match revalidation, and a region is purged as soon as a non-GET request hits
+ * one of its invalidating paths.
+ */
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCacheFilter.class);
+
+    private static final Set<String> UNCACHED_HEADERS = Set.of(
+            HttpHeaders.CONNECTION.toLowerCase(),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.DATE.toLowerCase(),
+            HttpHeaders.SET_COOKIE.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            CACHE_STATUS_HEADER.toLowerCase());
+
+    private final ResponseCacheProperties properties;
+    private final List<Region> regions;
+    private final Cache<String, CachedResponse> cache;
+    private final Timer savedLatency;
+    private final Counter notModified;
+    private final MeterRegistry meterRegistry;
+
+    public ResponseCacheFilter(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.regions = properties.getRegions().stream()
+                .map(region -> new Region(region.getName(), parse(region.getPaths()), parse(region.getInvalidatedBy())))
+                .toList();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        // Hit ratio is exported as cache.gets{cache="gateway-responses", result="hit|miss"}
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway-responses");
+        this.savedLatency = Timer.builder("gateway.response.cache.saved")
+                .description("Upstream latency avoided by serving a response from the gateway cache")
+                .register(meterRegistry);
+        this.notModified = Counter.builder("gateway.response.cache.not-modified")
+                .description("Requests answered with 304 after If-None-Match revalidation")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        // Must wrap the response before NettyWriteResponseFilter writes the upstream body
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        PathContainer path = request.getPath().pathWithinApplication();
+
+        if (!HttpMethod.GET.equals(request.getMethod())) {
+            if (HttpMethod.HEAD.equals(request.getMethod()) || HttpMethod.OPTIONS.equals(request.getMethod())) {
+                return chain.filter(exchange);
+            }
+            List<Region> stale = regions.stream()
+                    .filter(region -> matches(region.invalidatedBy(), path))
+                    .toList();
+            if (stale.isEmpty()) {
+                return chain.filter(exchange);
+            }
+            return chain.filter(exchange).doFinally(signal -> stale.forEach(this::purge));
+        }
+
+        Region region = regions.stream()
+                .filter(candidate -> matches(candidate.paths(), path))
+                .findFirst()
+                .orElse(null);
+        if (region == null) {
+            return chain.filter(exchange);
+        }
+        return cacheKey(exchange, region).flatMap(key -> {
+            CachedResponse cached = bypassesCache(request) ? null : cache.getIfPresent(key);
+            if (cached != null) {
+                return writeCached(exchange, cached);
+            }
+            return chain.filter(exchange.mutate().response(new CachingResponse(exchange, key)).build());
+        });
+    }
+
+    private Mono<String> cacheKey(ServerWebExchange exchange, Region region) {
+        ServerHttpRequest request = exchange.getRequest();
+        String query = request.getURI().getRawQuery();
+        String resource = region.name() + '|' + request.getURI().getRawPath() + '?' + (query != null ? query : "");
+        return exchange.getPrincipal()
+                .map(principal -> resource + '|' + claims(principal))
+                .defaultIfEmpty(resource);
+    }
+
+    private String claims(Principal principal) {
+        if (!(principal instanceof JwtAuthenticationToken authentication)) {
+            return principal.getName();
+        }
+        Map<String, Object> claims = authentication.getToken().getClaims();
+        StringBuilder key = new StringBuilder();
+        for (String claim : properties.getKeyClaims()) {
+            key.append(claim).append('=').append(claims.get(claim)).append(';');
+        }
+        return key.toString();
+    }
+
+    // Span attribute only, so that traces show which responses never left the gateway
+    private static void tagCacheStatus(ServerWebExchange exchange, String status) {
+        ServerRequestObservationContext.findCurrent(exchange.getAttributes())
+                .ifPresent(context -> context.addHighCardinalityKeyValue(KeyValue.of("gateway.cache", status)));
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        savedLatency.record(cached.upstreamNanos(), TimeUnit.NANOSECONDS);
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        cached.headers().forEach((name, values) -> headers.put(name, new ArrayList<>(values)));
+        headers.set(CACHE_STATUS_HEADER, "HIT");
+        tagCacheStatus(exchange, "HIT");
+
+        if (etagMatches(exchange.getRequest(), cached.etag())) {
+            notModified.increment();
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(cached.status());
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    private void purge(Region region) {
+        String prefix = region.name() + '|';
+        cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        meterRegistry.counter("gateway.response.cache.purges", "region", region.name()).increment();
+        log.debug("Purged cached responses of region {}", region.name());
+    }
+
+    private boolean isCacheable(ServerHttpResponse response) {
+        HttpHeaders headers = response.getHeaders();
+        MediaType contentType = headers.getContentType();
+        if (!HttpStatus.OK.equals(response.getStatusCode())
+                || contentType == null || !MediaType.APPLICATION_JSON.isCompatibleWith(contentType)) {
+            return false;
+        }
+        long contentLength = headers.getContentLength();
+        if (contentLength > properties.getMaxBodySize().toBytes()) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        return cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+    }
+
+    private static boolean bypassesCache(ServerHttpRequest request) {
+        String cacheControl = request.getHeaders().getCacheControl();
+        return cacheControl != null && cacheControl.contains(CacheControl.noCache().getHeaderValue());
+    }
+
+    private static boolean etagMatches(ServerHttpRequest request, String etag) {
+        List<String> ifNoneMatch = request.getHeaders().getIfNoneMatch();
+        return ifNoneMatch.contains(etag) || ifNoneMatch.contains("*");
+    }
+
+    private static boolean matches(List<PathPattern> patterns, PathContainer path) {
+        return patterns.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    private static List<PathPattern> parse(List<String> patterns) {
+        return patterns.stream().map(PathPatternParser.defaultInstance::parse).toList();
+    }
+
+    private static HttpHeaders storableHeaders(HttpHeaders headers) {
+        HttpHeaders stored = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            String lowerCase = name.toLowerCase();
+            if (!UNCACHED_HEADERS.contains(lowerCase) && !lowerCase.startsWith("access-control-")) {
+                stored.put(name, List.copyOf(values));
+            }
+        });
+        return HttpHeaders.readOnlyHttpHeaders(stored);
+    }
+
+    private record Region(String name, List<PathPattern> paths, List<PathPattern> invalidatedBy) {
+    }
+
+    /**
+     * Buffers a cacheable upstream body, stores it and adds the ETag before writing it.
+     */
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+        private final String key;
+        private final long start = System.nanoTime();
+
+        CachingResponse(ServerWebExchange exchange, String key) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.key = key;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!isCacheable(getDelegate())) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(body).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                HttpHeaders headers = getHeaders();
+                String etag = headers.getETag() != null
+                        ? headers.getETag()
+                        : '"' + DigestUtils.md5DigestAsHex(bytes) + '"';
+                headers.setETag(etag);
+                headers.set(CACHE_STATUS_HEADER, "MISS");
+                tagCacheStatus(exchange, "MISS");
+                if (bytes.length <= properties.getMaxBodySize().toBytes()) {
+                    cache.put(key, new CachedResponse(getStatusCode(), storableHeaders(headers), bytes, etag,
+                            System.nanoTime() - start));
+                }
+
+                headers.remove(HttpHeaders.TRANSFER_ENCODING);
+                if (etagMatches(exchange.getRequest(), etag)) {
+                    notModified.increment();
+                    headers.remove(HttpHeaders.CONTENT_LENGTH);
+                    setStatusCode(HttpStatus.NOT_MODIFIED);
+                    return setComplete();
+                }
+                headers.setContentLength(bytes.length);
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+    }
+}
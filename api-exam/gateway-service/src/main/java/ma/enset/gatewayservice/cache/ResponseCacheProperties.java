@@ -0,0 +1,111 @@
+package ma.enset.gatewayservice.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    private Duration ttl = Duration.ofSeconds(30);
+
+    private long maxEntries = 1000;
+
+    // Larger responses are passed through without being stored
+    private DataSize maxBodySize = DataSize.ofKilobytes(512);
+
+    // JWT claims that partition the cache, so users with different roles never share an entry
+    private List<String> keyClaims = new ArrayList<>(List.of("realm_access"));
+
+    private List<Region> regions = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public long getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(long maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public DataSize getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    public void setMaxBodySize(DataSize maxBodySize) {
+        this.maxBodySize = maxBodySize;
+    }
+
+    public List<String> getKeyClaims() {
+        return keyClaims;
+    }
+
+    public void setKeyClaims(List<String> keyClaims) {
+        this.keyClaims = keyClaims;
+    }
+
+    public List<Region> getRegions() {
+        return regions;
+    }
+
+    public void setRegions(List<Region> regions) {
+        this.regions = regions;
+    }
+
+    /**
+     * A group of cached GET paths, purged together whenever a non-GET request hits one
+     * of the invalidating paths.
+     */
+    public static class Region {
+
+        private String name;
+
+        private List<String> paths = new ArrayList<>();
+
+        private List<String> invalidatedBy = new ArrayList<>();
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public void setPaths(List<String> paths) {
+            this.paths = paths;
+        }
+
+        public List<String> getInvalidatedBy() {
+            return invalidatedBy;
+        }
+
+        public void setInvalidatedBy(List<String> invalidatedBy) {
+            this.invalidatedBy = invalidatedBy;
+        }
+    }
+}
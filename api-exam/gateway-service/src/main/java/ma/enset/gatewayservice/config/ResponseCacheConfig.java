@@ -0,0 +1,20 @@
+package ma.enset.gatewayservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import ma.enset.gatewayservice.cache.ResponseCacheFilter;
+import ma.enset.gatewayservice.cache.ResponseCacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "gateway.response-cache", name = "enabled", matchIfMissing = true)
+    public ResponseCacheFilter responseCacheFilter(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        return new ResponseCacheFilter(properties, meterRegistry);
+    }
+}
@@ -43,7 +43,7 @@ public class SecurityConfig {
                 "http://localhost:4200"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setExposedHeaders(List.of("Authorization", "X-Next-Cursor", "ETag", "X-Cache"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
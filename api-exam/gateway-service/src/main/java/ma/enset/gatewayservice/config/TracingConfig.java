@@ -0,0 +1,21 @@
+package ma.enset.gatewayservice.config;
+
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Writes sampled spans as OTLP JSON lines to the log, for offline use without a collector.
+ * Spring Boot hands every SpanExporter bean to the OpenTelemetry SDK.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "tracing.export", name = "console", havingValue = "true")
+public class TracingConfig {
+
+    @Bean
+    public SpanExporter otlpJsonLoggingSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+}
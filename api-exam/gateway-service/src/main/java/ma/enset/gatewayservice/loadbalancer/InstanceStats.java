@@ -0,0 +1,129 @@
+package ma.enset.gatewayservice.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * What the load balancer has observed of one instance: calls in flight, the peak-EWMA of
+ * its latency, and the failures and latencies of the current outlier detection window.
+ * Times are System.nanoTime values.
+ */
+class InstanceStats {
+
+    // Cost of an instance that has calls in flight but never answered yet
+    private static final double UNKNOWN_LATENCY_PENALTY = 1e12;
+
+    private final double decayNanos;
+    private final long windowNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // Guarded by this
+    private double peakEwma;
+    private long stamp;
+    private int consecutiveFailures;
+    private long windowStart;
+    private int windowRequests;
+    private int windowFailures;
+    private long windowLatency;
+    private int ejections;
+
+    private volatile long ejectedUntil;
+
+    InstanceStats(long decayNanos, long windowNanos, long now) {
+        this.decayNanos = decayNanos;
+        this.windowNanos = windowNanos;
+        this.stamp = now;
+        this.windowStart = now;
+        this.ejectedUntil = now;
+    }
+
+    void started() {
+        inFlight.incrementAndGet();
+    }
+
+    synchronized void completed(long now, long latency, boolean failure) {
+        inFlight.decrementAndGet();
+        // The peak is taken at once, lower latencies only pull the average down over decayTime
+        double weight = Math.exp(-(now - stamp) / decayNanos);
+        peakEwma = latency > peakEwma ? latency : peakEwma * weight + latency * (1 - weight);
+        stamp = now;
+
+        consecutiveFailures = failure ? consecutiveFailures + 1 : 0;
+        if (now - windowStart >= windowNanos) {
+            resetWindow(now);
+        }
+        windowRequests++;
+        windowLatency += latency;
+        if (failure) {
+            windowFailures++;
+        }
+    }
+
+    // Calls that ended without reaching the instance
+    void discarded() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Expected latency times the calls it would queue behind. The latency keeps decaying while
+     * the instance is not called, so that one which was slow is tried again after a while.
+     */
+    double cost(long now) {
+        int pending = inFlight.get();
+        double latency = latency(now);
+        if (latency == 0) {
+            return pending == 0 ? 0 : UNKNOWN_LATENCY_PENALTY + pending;
+        }
+        return latency * (pending + 1);
+    }
+
+    synchronized double latency(long now) {
+        return peakEwma * Math.exp(-Math.max(now - stamp, 0) / decayNanos);
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    synchronized int consecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    synchronized int windowRequests() {
+        return windowRequests;
+    }
+
+    synchronized double failureRate() {
+        return windowRequests == 0 ? 0 : (double) windowFailures / windowRequests;
+    }
+
+    synchronized double meanLatency() {
+        return windowRequests == 0 ? 0 : (double) windowLatency / windowRequests;
+    }
+
+    boolean isEjected(long now) {
+        return now - ejectedUntil < 0;
+    }
+
+    /**
+     * Takes the instance out of rotation for baseTime times the number of ejections in a row,
+     * a streak that ends once it stayed in rotation for maxTime. Returns the ejection time.
+     */
+    synchronized long eject(long now, long baseTime, long maxTime) {
+        if (now - ejectedUntil > maxTime) {
+            ejections = 0;
+        }
+        ejections++;
+        long duration = Math.min(baseTime * ejections, maxTime);
+        ejectedUntil = now + duration;
+        consecutiveFailures = 0;
+        resetWindow(now + duration);
+        return duration;
+    }
+
+    private void resetWindow(long now) {
+        windowStart = now;
+        windowRequests = 0;
+        windowFailures = 0;
+        windowLatency = 0;
+    }
+}
@@ -0,0 +1,283 @@
+package ma.enset.gatewayservice.loadbalancer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks two random instances and sends the call to the cheaper one, the cost being the
+ * peak-EWMA of its latency times the calls it already has in flight (power of two choices),
+ * so a slow or overloaded instance quickly gets less traffic without all callers herding to
+ * the same fastest one. Instances that keep failing, fail too often or are much slower than
+ * the others are ejected for a while (outlier ejection).
+ * <p>
+ * Also the lifecycle that observes the calls: Spring Cloud calls it around every request it
+ * load balances, from the gateway's lb:// routes, Feign clients and load-balanced WebClients.
+ * Per-instance state is published as loadbalancer.instance.* metrics.
+ */
+public class PeakEwmaLoadBalancer implements ReactorServiceInstanceLoadBalancer,
+        LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private static final Logger log = LoggerFactory.getLogger(PeakEwmaLoadBalancer.class);
+
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+    private final String serviceId;
+    private final PeakEwmaProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+    public PeakEwmaLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+                                String serviceId, PeakEwmaProperties properties, MeterRegistry meterRegistry) {
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.serviceId = serviceId;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider
+                .getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(instances -> {
+            Response<ServiceInstance> response = choose(instances);
+            if (supplier instanceof SelectedInstanceCallback callback && response.hasServer()) {
+                callback.selectedServiceInstance(response.getServer());
+            }
+            return response;
+        });
+    }
+
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            log.warn("No servers available for service: {}", serviceId);
+            return new EmptyResponse();
+        }
+        if (stats.size() > instances.size()) {
+            forgetRemoved(instances);
+        }
+        long now = System.nanoTime();
+        List<ServiceInstance> candidates = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            if (!stats(instance).isEjected(now)) {
+                candidates.add(instance);
+            }
+        }
+        // Everything ejected is better served by the instances than by no answer at all
+        if (candidates.isEmpty()) {
+            candidates = instances;
+        }
+        if (candidates.size() == 1) {
+            return new DefaultResponse(candidates.get(0));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = candidates.get(first);
+        ServiceInstance b = candidates.get(second);
+        return new DefaultResponse(stats(a).cost(now) <= stats(b).cost(now) ? a : b);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (request.getContext() instanceof TimedRequestContext context) {
+            context.setRequestStartTime(System.nanoTime());
+        }
+        if (lbResponse.hasServer()) {
+            stats(lbResponse.getServer()).started();
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (completionContext.status() == CompletionContext.Status.DISCARD
+                || lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        ServiceInstance instance = lbResponse.getServer();
+        InstanceStats instanceStats = stats(instance);
+        if (!(completionContext.getLoadBalancerRequest().getContext() instanceof TimedRequestContext context)
+                || context.getRequestStartTime() == 0) {
+            instanceStats.discarded();
+            return;
+        }
+        long now = System.nanoTime();
+        long latency = now - context.getRequestStartTime();
+        boolean failure = isFailure(completionContext);
+        instanceStats.completed(now, failure ? Math.max(latency, properties.getFailurePenalty().toNanos()) : latency,
+                failure);
+        Timer.builder("loadbalancer.instance.requests")
+                .description("Calls sent to the instance by the load balancer")
+                .tags(tags(instance))
+                .tag("outcome", failure ? "FAILURE" : "SUCCESS")
+                .register(meterRegistry)
+                .record(latency, TimeUnit.NANOSECONDS);
+        if (properties.getOutlierEjection().isEnabled()) {
+            ejectIfOutlier(instance, instanceStats, now);
+        }
+    }
+
+    // Errors and 5xx answers count as failures, 4xx are the caller's
+    private static boolean isFailure(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            return true;
+        }
+        return completionContext.getClientResponse() instanceof ResponseData response
+                && response.getHttpStatus() != null
+                && response.getHttpStatus().is5xxServerError();
+    }
+
+    private void ejectIfOutlier(ServiceInstance instance, InstanceStats instanceStats, long now) {
+        PeakEwmaProperties.OutlierEjection ejection = properties.getOutlierEjection();
+        String reason;
+        if (instanceStats.consecutiveFailures() >= ejection.getConsecutiveFailures()) {
+            reason = "consecutive-failures";
+        } else if (instanceStats.windowRequests() < ejection.getMinimumRequests()) {
+            return;
+        } else if (instanceStats.failureRate() >= ejection.getFailureRateThreshold()) {
+            reason = "failure-rate";
+        } else if (isLatencyOutlier(instanceStats, now)) {
+            reason = "latency";
+        } else {
+            return;
+        }
+        synchronized (this) {
+            if (instanceStats.isEjected(now) || !canEject(now)) {
+                return;
+            }
+            int calls = instanceStats.windowRequests();
+            long failed = Math.round(instanceStats.failureRate() * 100);
+            long mean = TimeUnit.NANOSECONDS.toMillis((long) instanceStats.meanLatency());
+            long duration = instanceStats.eject(now, ejection.getBaseEjectionTime().toNanos(),
+                    ejection.getMaxEjectionTime().toNanos());
+            log.warn("Ejected {} instance {}:{} for {} ms ({}: {} calls, {}% failed, mean {} ms)", serviceId,
+                    instance.getHost(), instance.getPort(), TimeUnit.NANOSECONDS.toMillis(duration), reason,
+                    calls, failed, mean);
+        }
+        Counter.builder("loadbalancer.instance.ejections")
+                .description("Times the instance was taken out of rotation")
+                .tags(tags(instance))
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private boolean isLatencyOutlier(InstanceStats instanceStats, long now) {
+        PeakEwmaProperties.OutlierEjection ejection = properties.getOutlierEjection();
+        double mean = instanceStats.meanLatency();
+        if (mean < ejection.getLatencyFloor().toNanos()) {
+            return false;
+        }
+        List<Double> others = new ArrayList<>();
+        for (InstanceStats other : stats.values()) {
+            if (other != instanceStats && !other.isEjected(now)
+                    && other.windowRequests() >= ejection.getMinimumRequests()) {
+                others.add(other.meanLatency());
+            }
+        }
+        if (others.isEmpty()) {
+            return false;
+        }
+        others.sort(null);
+        return mean > ejection.getLatencyFactor() * others.get(others.size() / 2);
+    }
+
+    private boolean canEject(long now) {
+        long ejected = stats.values().stream().filter(instanceStats -> instanceStats.isEjected(now)).count();
+        return ejected < stats.size() * properties.getOutlierEjection().getMaxEjectionPercent() / 100;
+    }
+
+    private InstanceStats stats(ServiceInstance instance) {
+        return stats.computeIfAbsent(key(instance), key -> register(instance));
+    }
+
+    private InstanceStats register(ServiceInstance instance) {
+        InstanceStats instanceStats = new InstanceStats(properties.getDecayTime().toNanos(),
+                properties.getOutlierEjection().getInterval().toNanos(), System.nanoTime());
+        Tags tags = tags(instance);
+        TimeGauge.builder("loadbalancer.instance.latency", instanceStats, TimeUnit.NANOSECONDS,
+                        s -> s.latency(System.nanoTime()))
+                .description("Peak-EWMA latency the load balancer weighs the instance by")
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("loadbalancer.instance.in.flight", instanceStats, InstanceStats::inFlight)
+                .description("Calls sent to the instance and not answered yet")
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("loadbalancer.instance.ejected", instanceStats, s -> s.isEjected(System.nanoTime()) ? 1 : 0)
+                .description("1 while the instance is out of rotation")
+                .tags(tags)
+                .register(meterRegistry);
+        return instanceStats;
+    }
+
+    // Instances gone from discovery take their meters with them
+    private void forgetRemoved(List<ServiceInstance> instances) {
+        Set<String> current = new HashSet<>();
+        instances.forEach(instance -> current.add(key(instance)));
+        stats.keySet().removeIf(key -> {
+            if (current.contains(key)) {
+                return false;
+            }
+            Tags tags = tagsOf(key);
+            meterRegistry.getMeters().stream()
+                    .filter(meter -> meter.getId().getName().startsWith("loadbalancer.instance.")
+                            && tags.stream().allMatch(tag -> tag.getValue().equals(meter.getId().getTag(tag.getKey()))))
+                    .forEach(meterRegistry::remove);
+            return true;
+        });
+    }
+
+    private Tags tags(ServiceInstance instance) {
+        return Tags.of("serviceId", serviceId,
+                "serviceInstance.host", instance.getHost(),
+                "serviceInstance.port", String.valueOf(instance.getPort()));
+    }
+
+    private Tags tagsOf(String key) {
+        int separator = key.lastIndexOf(':');
+        return Tags.of("serviceId", serviceId,
+                "serviceInstance.host", key.substring(0, separator),
+                "serviceInstance.port", key.substring(separator + 1));
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+}
@@ -0,0 +1,30 @@
+package ma.enset.gatewayservice.loadbalancer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Load balancer configuration of every called service, applied in each service's own
+ * load balancer context (see LoadBalancerConfig), hence not a component-scanned
+ * {@code @Configuration}. Without the bean, Spring Cloud LoadBalancer falls back to
+ * round-robin.
+ */
+public class PeakEwmaLoadBalancerConfiguration {
+
+    // Declared as the implementation: Spring Cloud looks it up as a LoadBalancerLifecycle too
+    @Bean
+    @ConditionalOnProperty(prefix = "load-balancer.peak-ewma", name = "enabled", matchIfMissing = true)
+    public PeakEwmaLoadBalancer peakEwmaLoadBalancer(Environment environment,
+                                                     LoadBalancerClientFactory loadBalancerClientFactory,
+                                                     PeakEwmaProperties properties,
+                                                     MeterRegistry meterRegistry) {
+        String serviceId = LoadBalancerClientFactory.getName(environment);
+        return new PeakEwmaLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,15 @@
+package ma.enset.keynoteservice.dtos;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KeynoteEventPageDTO {
+    private List<KeynoteEventDTO> events;
+    private Long resumeAfter; // position à redemander ensuite, avant les événements encore susceptibles d'être précédés
+    private boolean resyncRequired; // flux purgé ou réinitialisé depuis la position demandée
+}
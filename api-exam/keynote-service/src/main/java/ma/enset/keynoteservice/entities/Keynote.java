@@ -2,8 +2,16 @@ package ma.enset.keynoteservice.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import ma.enset.keynoteservice.search.TextAnalysisConfigurer;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
 
 @Entity
+@Indexed
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "keynote")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -13,12 +21,18 @@ public class Keynote {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @FullTextField(analyzer = TextAnalysisConfigurer.TEXT_ANALYZER)
     private String nom;
 
+    @FullTextField(analyzer = TextAnalysisConfigurer.TEXT_ANALYZER)
     private String prenom;
 
     @Column(unique = true)
     private String email;
 
+    @FullTextField(analyzer = TextAnalysisConfigurer.TEXT_ANALYZER)
     private String fonction;
+
+    @Version
+    private Long version; // verrou optimiste, sert aussi d'ETag
 }
@@ -0,0 +1,39 @@
+package ma.enset.keynoteservice.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import ma.enset.keynoteservice.enums.KeynoteChangeType;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KeynoteEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id; // position dans le flux des changements
+
+    @Column(nullable = false)
+    private Long keynoteId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private KeynoteChangeType type;
+
+    // état du keynote après le changement, tel qu'avant la suppression pour DELETED
+    private String nom;
+
+    private String prenom;
+
+    private String email;
+
+    private String fonction;
+
+    private Long keynoteVersion;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,7 @@
+package ma.enset.keynoteservice.enums;
+
+public enum KeynoteChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
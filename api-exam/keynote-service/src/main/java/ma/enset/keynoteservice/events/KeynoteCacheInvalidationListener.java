@@ -0,0 +1,48 @@
+package ma.enset.keynoteservice.events;
+
+import lombok.extern.slf4j.Slf4j;
+import ma.enset.keynoteservice.enums.KeynoteChangeType;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * Evicts a changed keynote from the local cache of every conference-service instance
+ * once the change is committed. Failures are only logged: the cache TTL bounds staleness.
+ */
+@Component
+@Slf4j
+public class KeynoteCacheInvalidationListener {
+
+    private static final String CONFERENCE_SERVICE_ID = "CONFERENCE-SERVICE";
+
+    private final DiscoveryClient discoveryClient;
+    private final RestTemplate restTemplate;
+
+    public KeynoteCacheInvalidationListener(DiscoveryClient discoveryClient, RestTemplateBuilder restTemplateBuilder) {
+        this.discoveryClient = discoveryClient;
+        this.restTemplate = restTemplateBuilder
+                .setConnectTimeout(Duration.ofSeconds(1))
+                .setReadTimeout(Duration.ofSeconds(2))
+                .build();
+    }
+
+    @TransactionalEventListener
+    public void onKeynoteChanged(KeynoteChangedEvent event) {
+        if (event.type() == KeynoteChangeType.CREATED) {
+            return;
+        }
+        for (ServiceInstance instance : discoveryClient.getInstances(CONFERENCE_SERVICE_ID)) {
+            try {
+                restTemplate.delete(instance.getUri() + "/api/keynote-cache/{keynoteId}", event.keynoteId());
+            } catch (Exception e) {
+                log.warn("Could not evict keynote {} from {}: {}", event.keynoteId(), instance.getUri(), e.getMessage());
+            }
+        }
+    }
+}
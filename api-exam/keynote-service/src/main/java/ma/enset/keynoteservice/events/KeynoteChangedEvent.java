@@ -0,0 +1,6 @@
+package ma.enset.keynoteservice.events;
+
+import ma.enset.keynoteservice.enums.KeynoteChangeType;
+
+public record KeynoteChangedEvent(Long keynoteId, KeynoteChangeType type) {
+}
@@ -0,0 +1,22 @@
+package ma.enset.keynoteservice.jobs;
+
+import lombok.RequiredArgsConstructor;
+import ma.enset.keynoteservice.services.KeynoteEventService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops keynote events past the retention period. Consumers further behind than that
+ * are told to reload the snapshot.
+ */
+@Component
+@RequiredArgsConstructor
+public class KeynoteEventPruneJob {
+
+    private final KeynoteEventService keynoteEventService;
+
+    @Scheduled(cron = "${keynote.events.prune-cron:0 15 3 * * *}")
+    public void pruneEvents() {
+        keynoteEventService.pruneEvents();
+    }
+}
@@ -1,8 +1,11 @@
 package ma.enset.keynoteservice.mappers;
 
 import ma.enset.keynoteservice.dtos.KeynoteDTO;
+import ma.enset.keynoteservice.dtos.KeynoteEventDTO;
 import ma.enset.keynoteservice.entities.Keynote;
+import ma.enset.keynoteservice.entities.KeynoteEvent;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import java.util.List;
 
@@ -10,9 +13,12 @@ import java.util.List;
 public interface KeynoteMapper {
     KeynoteDTO toDTO(Keynote keynote);
 
+    @Mapping(target = "version", ignore = true)
     Keynote toEntity(KeynoteDTO keynoteDTO);
 
     List<KeynoteDTO> toDTOList(List<Keynote> keynotes);
 
     List<Keynote> toEntityList(List<KeynoteDTO> keynoteDTOs);
+
+    List<KeynoteEventDTO> toEventDTOList(List<KeynoteEvent> events);
 }
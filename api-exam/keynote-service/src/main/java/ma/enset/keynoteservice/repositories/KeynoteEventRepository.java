@@ -0,0 +1,31 @@
+package ma.enset.keynoteservice.repositories;
+
+import ma.enset.keynoteservice.entities.KeynoteEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface KeynoteEventRepository extends JpaRepository<KeynoteEvent, Long> {
+    List<KeynoteEvent> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    @Query("SELECT COALESCE(MIN(e.id), 0L) FROM KeynoteEvent e")
+    long findFirstId();
+
+    @Query("SELECT COALESCE(MAX(e.id), 0L) FROM KeynoteEvent e")
+    long findLastId();
+
+    @Query("SELECT COALESCE(MAX(e.id), 0L) FROM KeynoteEvent e WHERE e.createdAt <= :createdBefore")
+    long findLastIdCreatedBefore(@Param("createdBefore") Instant createdBefore);
+
+    // The last event is always kept so that consumers can tell a pruned feed from a reset one
+    @Modifying
+    @Query("DELETE FROM KeynoteEvent e WHERE e.createdAt < :createdBefore AND e.id < :lastId")
+    int deleteCreatedBefore(@Param("createdBefore") Instant createdBefore, @Param("lastId") long lastId);
+}
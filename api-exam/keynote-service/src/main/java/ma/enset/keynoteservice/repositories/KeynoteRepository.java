@@ -1,7 +1,10 @@
 package ma.enset.keynoteservice.repositories;
 
 import ma.enset.keynoteservice.entities.Keynote;
+import ma.enset.keynoteservice.projections.TableVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,4 +17,11 @@ public interface KeynoteRepository extends JpaRepository<Keynote, Long> {
     List<Keynote> findByNomContainingIgnoreCase(String nom);
 
     List<Keynote> findByFonctionContainingIgnoreCase(String fonction);
+
+    @Query("SELECT k.version FROM Keynote k WHERE k.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(k) AS rowCount, COALESCE(SUM(k.version), 0L) AS versionSum, " +
+            "COALESCE(MAX(k.id), 0L) AS maxId FROM Keynote k")
+    TableVersion findTableVersion();
 }
@@ -0,0 +1,16 @@
+package ma.enset.keynoteservice.services;
+
+import ma.enset.keynoteservice.dtos.KeynoteEventPageDTO;
+import ma.enset.keynoteservice.dtos.KeynoteSnapshotDTO;
+import ma.enset.keynoteservice.entities.Keynote;
+import ma.enset.keynoteservice.enums.KeynoteChangeType;
+
+public interface KeynoteEventService {
+    void recordChange(Keynote keynote, KeynoteChangeType type);
+
+    KeynoteEventPageDTO getEvents(long after, Integer limit);
+
+    KeynoteSnapshotDTO getSnapshot();
+
+    int pruneEvents();
+}
@@ -0,0 +1,110 @@
+package ma.enset.keynoteservice.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.enset.keynoteservice.dtos.KeynoteEventDTO;
+import ma.enset.keynoteservice.dtos.KeynoteEventPageDTO;
+import ma.enset.keynoteservice.dtos.KeynoteSnapshotDTO;
+import ma.enset.keynoteservice.entities.Keynote;
+import ma.enset.keynoteservice.entities.KeynoteEvent;
+import ma.enset.keynoteservice.enums.KeynoteChangeType;
+import ma.enset.keynoteservice.mappers.KeynoteMapper;
+import ma.enset.keynoteservice.repositories.KeynoteEventRepository;
+import ma.enset.keynoteservice.repositories.KeynoteRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Outbox of keynote changes. Each change is stored in the transaction that makes it, and
+ * consumers read the feed in id order. Ids are taken when the event is inserted, not when
+ * it commits, so a slow transaction can still add an event behind one already read. Each
+ * page therefore tells the consumer to resume before any event younger than the settle
+ * delay, and those events are sent again on the next read.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class KeynoteEventServiceImpl implements KeynoteEventService {
+
+    private final KeynoteEventRepository keynoteEventRepository;
+    private final KeynoteRepository keynoteRepository;
+    private final KeynoteMapper keynoteMapper;
+
+    @Value("${keynote.events.settle:5s}")
+    private Duration settle;
+
+    @Value("${keynote.events.retention:7d}")
+    private Duration retention;
+
+    @Value("${pagination.max-limit:500}")
+    private int maxLimit;
+
+    @Override
+    public void recordChange(Keynote keynote, KeynoteChangeType type) {
+        keynoteEventRepository.save(KeynoteEvent.builder()
+                .keynoteId(keynote.getId())
+                .type(type)
+                .nom(keynote.getNom())
+                .prenom(keynote.getPrenom())
+                .email(keynote.getEmail())
+                .fonction(keynote.getFonction())
+                .keynoteVersion(keynote.getVersion())
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeynoteEventPageDTO getEvents(long after, Integer limit) {
+        int pageSize = limit == null ? maxLimit : Math.max(1, Math.min(limit, maxLimit));
+        long settledId = keynoteEventRepository.findLastIdCreatedBefore(Instant.now().minus(settle));
+
+        // A position past the end means the feed was reset, one before the first event that it was pruned
+        long lastId = keynoteEventRepository.findLastId();
+        long firstId = keynoteEventRepository.findFirstId();
+        if (after > lastId || (firstId > 0 && after < firstId - 1)) {
+            log.warn("Keynote events after {} are no longer available (feed holds {} to {})", after, firstId, lastId);
+            return KeynoteEventPageDTO.builder()
+                    .events(List.of())
+                    .resumeAfter(after)
+                    .resyncRequired(true)
+                    .build();
+        }
+
+        List<KeynoteEventDTO> events = keynoteMapper.toEventDTOList(
+                keynoteEventRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(pageSize)));
+        long lastReturnedId = events.isEmpty() ? after : events.get(events.size() - 1).getId();
+        return KeynoteEventPageDTO.builder()
+                .events(events)
+                .resumeAfter(Math.max(after, Math.min(lastReturnedId, settledId)))
+                .resyncRequired(false)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeynoteSnapshotDTO getSnapshot() {
+        log.info("Getting keynote snapshot");
+        // Taken before the keynotes are read: events replayed from there are already in the copy at worst
+        long resumeAfter = keynoteEventRepository.findLastIdCreatedBefore(Instant.now().minus(settle));
+        return KeynoteSnapshotDTO.builder()
+                .keynotes(keynoteMapper.toDTOList(keynoteRepository.findAll()))
+                .resumeAfter(resumeAfter)
+                .build();
+    }
+
+    @Override
+    public int pruneEvents() {
+        int pruned = keynoteEventRepository.deleteCreatedBefore(Instant.now().minus(retention),
+                keynoteEventRepository.findLastId());
+        log.info("Pruned {} keynote events older than {}", pruned, retention);
+        return pruned;
+    }
+}
@@ -1,21 +1,33 @@
 package ma.enset.keynoteservice.services;
 
 import ma.enset.keynoteservice.dtos.KeynoteDTO;
+import ma.enset.keynoteservice.dtos.SearchResultDTO;
+import ma.enset.keynoteservice.projections.TableVersion;
 
 import java.util.List;
 
 public interface KeynoteService {
     KeynoteDTO saveKeynote(KeynoteDTO keynoteDTO);
 
-    KeynoteDTO updateKeynote(Long id, KeynoteDTO keynoteDTO);
+    KeynoteDTO updateKeynote(Long id, KeynoteDTO keynoteDTO, Long expectedVersion);
 
     KeynoteDTO getKeynoteById(Long id);
 
+    Long getKeynoteVersion(Long id);
+
+    TableVersion getKeynotesVersion();
+
     List<KeynoteDTO> getAllKeynotes();
 
+    List<KeynoteDTO> getKeynotesByIds(List<Long> ids);
+
     void deleteKeynote(Long id);
 
     List<KeynoteDTO> searchByNom(String nom);
 
     List<KeynoteDTO> searchByFonction(String fonction);
+
+    SearchResultDTO<KeynoteDTO> fullTextSearch(String query, int page, int size);
+
+    void rebuildSearchIndex();
 }
@@ -1,26 +1,51 @@
 package ma.enset.keynoteservice.services;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ma.enset.keynoteservice.dtos.KeynoteDTO;
+import ma.enset.keynoteservice.dtos.SearchResultDTO;
 import ma.enset.keynoteservice.entities.Keynote;
+import ma.enset.keynoteservice.enums.KeynoteChangeType;
+import ma.enset.keynoteservice.events.KeynoteChangedEvent;
 import ma.enset.keynoteservice.exceptions.KeynoteNotFoundException;
+import ma.enset.keynoteservice.exceptions.VersionMismatchException;
 import ma.enset.keynoteservice.mappers.KeynoteMapper;
+import ma.enset.keynoteservice.projections.TableVersion;
 import ma.enset.keynoteservice.repositories.KeynoteRepository;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.search.engine.search.predicate.dsl.BooleanPredicateClausesStep;
+import org.hibernate.search.engine.search.predicate.dsl.SimpleQueryFlag;
+import org.hibernate.search.engine.search.query.SearchResult;
+import org.hibernate.search.mapper.orm.Search;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @Transactional
+@Observed(name = "keynote.service")
 @RequiredArgsConstructor
 @Slf4j
 public class KeynoteServiceImpl implements KeynoteService {
 
     private final KeynoteRepository keynoteRepository;
+    private final KeynoteEventService keynoteEventService;
     private final KeynoteMapper keynoteMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+
+    @Value("${pagination.max-limit:500}")
+    private int maxLimit;
 
     @Override
     @CircuitBreaker(name = "keynoteService", fallbackMethod = "saveKeynoteFallback")
@@ -28,76 +53,178 @@ public class KeynoteServiceImpl implements KeynoteService {
         log.info("Saving new keynote: {} {}", keynoteDTO.getNom(), keynoteDTO.getPrenom());
         Keynote keynote = keynoteMapper.toEntity(keynoteDTO);
         Keynote savedKeynote = keynoteRepository.save(keynote);
+        keynoteEventService.recordChange(savedKeynote, KeynoteChangeType.CREATED);
+        eventPublisher.publishEvent(new KeynoteChangedEvent(savedKeynote.getId(), KeynoteChangeType.CREATED));
         return keynoteMapper.toDTO(savedKeynote);
     }
 
     @Override
     @CircuitBreaker(name = "keynoteService", fallbackMethod = "updateKeynoteFallback")
-    public KeynoteDTO updateKeynote(Long id, KeynoteDTO keynoteDTO) {
+    public KeynoteDTO updateKeynote(Long id, KeynoteDTO keynoteDTO, Long expectedVersion) {
         log.info("Updating keynote with id: {}", id);
         Keynote existingKeynote = keynoteRepository.findById(id)
                 .orElseThrow(() -> new KeynoteNotFoundException("Keynote not found with id: " + id));
 
+        // Concurrent writers after this check are caught by @Version when flushing
+        if (expectedVersion != null && !expectedVersion.equals(existingKeynote.getVersion())) {
+            throw new VersionMismatchException("Keynote " + id + " is at version " + existingKeynote.getVersion()
+                    + ", not " + expectedVersion);
+        }
+
         existingKeynote.setNom(keynoteDTO.getNom());
         existingKeynote.setPrenom(keynoteDTO.getPrenom());
         existingKeynote.setEmail(keynoteDTO.getEmail());
         existingKeynote.setFonction(keynoteDTO.getFonction());
 
-        Keynote updatedKeynote = keynoteRepository.save(existingKeynote);
+        // Flushed so that the returned version is the new one
+        Keynote updatedKeynote = keynoteRepository.saveAndFlush(existingKeynote);
+        keynoteEventService.recordChange(updatedKeynote, KeynoteChangeType.UPDATED);
+        eventPublisher.publishEvent(new KeynoteChangedEvent(id, KeynoteChangeType.UPDATED));
         return keynoteMapper.toDTO(updatedKeynote);
     }
 
     @Override
+    @Transactional(readOnly = true)
     @CircuitBreaker(name = "keynoteService", fallbackMethod = "getKeynoteByIdFallback")
     public KeynoteDTO getKeynoteById(Long id) {
-        log.info("Getting keynote with id: {}", id);
+        log.debug("Getting keynote with id: {}", id);
         Keynote keynote = keynoteRepository.findById(id)
                 .orElseThrow(() -> new KeynoteNotFoundException("Keynote not found with id: " + id));
         return keynoteMapper.toDTO(keynote);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Long getKeynoteVersion(Long id) {
+        return keynoteRepository.findVersionById(id)
+                .orElseThrow(() -> new KeynoteNotFoundException("Keynote not found with id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TableVersion getKeynotesVersion() {
+        return keynoteRepository.findTableVersion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     @CircuitBreaker(name = "keynoteService", fallbackMethod = "getAllKeynotesFallback")
     public List<KeynoteDTO> getAllKeynotes() {
-        log.info("Getting all keynotes");
+        log.debug("Getting all keynotes");
         List<Keynote> keynotes = keynoteRepository.findAll();
         return keynoteMapper.toDTOList(keynotes);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<KeynoteDTO> getKeynotesByIds(List<Long> ids) {
+        log.debug("Getting {} keynotes by ids", ids.size());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // Unlike findAllById, multiLoad serves cached keynotes from the second-level cache and only
+        // queries the others, but only with an explicit cache mode; ids without a keynote come back as null
+        List<Keynote> keynotes = entityManager.unwrap(Session.class)
+                .byMultipleIds(Keynote.class)
+                .with(CacheMode.NORMAL)
+                .multiLoad(ids)
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+        return keynoteMapper.toDTOList(keynotes);
+    }
+
     @Override
     public void deleteKeynote(Long id) {
         log.info("Deleting keynote with id: {}", id);
-        if (!keynoteRepository.existsById(id)) {
-            throw new KeynoteNotFoundException("Keynote not found with id: " + id);
-        }
-        keynoteRepository.deleteById(id);
+        Keynote keynote = keynoteRepository.findById(id)
+                .orElseThrow(() -> new KeynoteNotFoundException("Keynote not found with id: " + id));
+        keynoteRepository.delete(keynote);
+        // Flushed before the event is numbered, as for updates, so that the events of one
+        // keynote are numbered in the order their changes take the row lock
+        keynoteRepository.flush();
+        keynoteEventService.recordChange(keynote, KeynoteChangeType.DELETED);
+        eventPublisher.publishEvent(new KeynoteChangedEvent(id, KeynoteChangeType.DELETED));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<KeynoteDTO> searchByNom(String nom) {
-        log.info("Searching keynotes by nom: {}", nom);
+        log.debug("Searching keynotes by nom: {}", nom);
         List<Keynote> keynotes = keynoteRepository.findByNomContainingIgnoreCase(nom);
         return keynoteMapper.toDTOList(keynotes);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<KeynoteDTO> searchByFonction(String fonction) {
-        log.info("Searching keynotes by fonction: {}", fonction);
+        log.debug("Searching keynotes by fonction: {}", fonction);
         List<Keynote> keynotes = keynoteRepository.findByFonctionContainingIgnoreCase(fonction);
         return keynoteMapper.toDTOList(keynotes);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public SearchResultDTO<KeynoteDTO> fullTextSearch(String query, int page, int size) {
+        log.debug("Full-text searching keynotes: {}", query);
+        int pageSize = Math.max(1, Math.min(size, maxLimit));
+        int pageIndex = Math.max(page, 0);
+        List<String> terms = Arrays.stream(query.split("\\s+"))
+                .map(term -> term.replaceAll("[^\\p{L}\\p{N}]", ""))
+                .filter(term -> !term.isEmpty())
+                .toList();
+        if (terms.isEmpty()) {
+            return new SearchResultDTO<>(List.of(), 0, pageIndex, pageSize);
+        }
+
+        // Every term must match a name or function exactly, as a prefix or within one edit; names rank first
+        SearchResult<Keynote> result = Search.session(entityManager)
+                .search(Keynote.class)
+                .where(f -> {
+                    BooleanPredicateClausesStep<?> bool = f.bool();
+                    terms.forEach(term -> bool.must(f.bool()
+                            .should(f.match().field("nom").boost(3.0f).field("prenom").boost(2.0f).field("fonction")
+                                    .matching(term).boost(3.0f))
+                            .should(f.simpleQueryString().field("nom").boost(3.0f).field("prenom").boost(2.0f).field("fonction")
+                                    .matching(term + "*").flags(SimpleQueryFlag.PREFIX).boost(2.0f))
+                            .should(f.match().field("nom").boost(3.0f).field("prenom").boost(2.0f).field("fonction")
+                                    .matching(term).fuzzy(1))));
+                    return bool;
+                })
+                .fetch(pageIndex * pageSize, pageSize);
+
+        return new SearchResultDTO<>(keynoteMapper.toDTOList(result.hits()),
+                result.total().hitCount(), pageIndex, pageSize);
+    }
+
+    @Override
+    public void rebuildSearchIndex() {
+        log.info("Rebuilding keynote search index");
+        try {
+            Search.session(entityManager).massIndexer(Keynote.class).startAndWait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Keynote search index rebuild interrupted", e);
+        }
+    }
+
     // Fallback methods
     public KeynoteDTO saveKeynoteFallback(KeynoteDTO keynoteDTO, Exception e) {
         log.error("Fallback for saveKeynote: {}", e.getMessage());
         return null;
     }
 
-    public KeynoteDTO updateKeynoteFallback(Long id, KeynoteDTO keynoteDTO, Exception e) {
+    public KeynoteDTO updateKeynoteFallback(Long id, KeynoteDTO keynoteDTO, Long expectedVersion, Exception e) {
         log.error("Fallback for updateKeynote: {}", e.getMessage());
         return null;
     }
 
+    // A stale version is reported to the caller rather than swallowed by the fallback above
+    public KeynoteDTO updateKeynoteFallback(Long id, KeynoteDTO keynoteDTO, Long expectedVersion,
+                                            OptimisticLockingFailureException e) {
+        throw e;
+    }
+
     public KeynoteDTO getKeynoteByIdFallback(Long id, Exception e) {
         log.error("Fallback for getKeynoteById: {}", e.getMessage());
         return null;
@@ -0,0 +1,56 @@
+package ma.enset.keynoteservice.web;
+
+import ma.enset.keynoteservice.projections.TableVersion;
+
+/**
+ * Strong ETags built from entity versions, so that conditional requests can be answered
+ * from a version query instead of loading and mapping entities.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return quote(String.valueOf(version));
+    }
+
+    static String of(TableVersion tableVersion) {
+        return quote(tableVersion.getRowCount() + "-" + tableVersion.getVersionSum() + "-" + tableVersion.getMaxId());
+    }
+
+    // Weak comparison, as required for If-None-Match
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Version expected by an If-Match header, null when absent or "*"
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.valueOf(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            // Never matches a real version, so the update is rejected
+            return -1L;
+        }
+    }
+
+    private static String quote(String tag) {
+        return '"' + tag + '"';
+    }
+}
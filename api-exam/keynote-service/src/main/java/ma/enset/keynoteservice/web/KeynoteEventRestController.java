@@ -0,0 +1,34 @@
+package ma.enset.keynoteservice.web;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import ma.enset.keynoteservice.dtos.KeynoteEventPageDTO;
+import ma.enset.keynoteservice.dtos.KeynoteSnapshotDTO;
+import ma.enset.keynoteservice.services.KeynoteEventService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/keynotes/events")
+@RequiredArgsConstructor
+@Tag(name = "Keynote Events", description = "Keynote change feed API")
+public class KeynoteEventRestController {
+
+    private final KeynoteEventService keynoteEventService;
+
+    @Operation(summary = "Get keynote changes", description = "Keynote creations, updates and deletions after the given position, oldest first. Resume from resumeAfter; events after it may be sent again and must be applied idempotently. resyncRequired means the position is no longer in the feed and the consumer must reload the snapshot")
+    @GetMapping
+    public ResponseEntity<KeynoteEventPageDTO> getEvents(
+            @Parameter(description = "Position returned as resumeAfter by the previous call") @RequestParam(defaultValue = "0") long after,
+            @Parameter(description = "Maximum number of events") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(keynoteEventService.getEvents(after, limit));
+    }
+
+    @Operation(summary = "Get a keynote snapshot", description = "Every keynote, with the feed position to resume from after loading them")
+    @GetMapping("/snapshot")
+    public ResponseEntity<KeynoteSnapshotDTO> getSnapshot() {
+        return ResponseEntity.ok(keynoteEventService.getSnapshot());
+    }
+}
@@ -9,7 +9,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import ma.enset.keynoteservice.dtos.KeynoteDTO;
+import ma.enset.keynoteservice.dtos.SearchResultDTO;
 import ma.enset.keynoteservice.services.KeynoteService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -26,22 +29,54 @@ public class KeynoteRestController {
 
     @Operation(summary = "Get all keynotes", description = "Retrieve a list of all keynotes")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved list", content = @Content(mediaType = "application/json", schema = @Schema(implementation = KeynoteDTO.class)))
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list", content = @Content(mediaType = "application/json", schema = @Schema(implementation = KeynoteDTO.class))),
+            @ApiResponse(responseCode = "304", description = "List unchanged since the given ETag")
     })
     @GetMapping
-    public ResponseEntity<List<KeynoteDTO>> getAllKeynotes() {
-        return ResponseEntity.ok(keynoteService.getAllKeynotes());
+    public ResponseEntity<List<KeynoteDTO>> getAllKeynotes(
+            @Parameter(description = "ETag of the copy held by the client") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.of(keynoteService.getKeynotesVersion());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        // no-cache lets browsers keep the body but revalidate it with If-None-Match on every use
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(keynoteService.getAllKeynotes());
     }
 
     @Operation(summary = "Get keynote by ID", description = "Retrieve a keynote by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved keynote"),
+            @ApiResponse(responseCode = "304", description = "Keynote unchanged since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Keynote not found")
     })
     @GetMapping("/{id}")
     public ResponseEntity<KeynoteDTO> getKeynoteById(
-            @Parameter(description = "Keynote ID") @PathVariable Long id) {
-        return ResponseEntity.ok(keynoteService.getKeynoteById(id));
+            @Parameter(description = "Keynote ID") @PathVariable Long id,
+            @Parameter(description = "ETag of the copy held by the client") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.of(keynoteService.getKeynoteVersion(id));
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(keynoteService.getKeynoteById(id));
+    }
+
+    @Operation(summary = "Get keynotes by IDs", description = "Retrieve several keynotes in a single call, unknown IDs are skipped")
+    @GetMapping("/batch")
+    public ResponseEntity<List<KeynoteDTO>> getKeynotesByIds(
+            @Parameter(description = "Keynote IDs") @RequestParam List<Long> ids) {
+        return ResponseEntity.ok(keynoteService.getKeynotesByIds(ids));
+    }
+
+    @Operation(summary = "Get keynotes by IDs (POST)", description = "Same as GET /batch, for ID lists too long for a query string")
+    @PostMapping("/batch")
+    public ResponseEntity<List<KeynoteDTO>> getKeynotesByIdsPost(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(keynoteService.getKeynotesByIds(ids));
     }
 
     @Operation(summary = "Create a new keynote", description = "Create a new keynote speaker")
@@ -58,13 +93,21 @@ public class KeynoteRestController {
     @Operation(summary = "Update a keynote", description = "Update an existing keynote by ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Keynote updated successfully"),
-            @ApiResponse(responseCode = "404", description = "Keynote not found")
+            @ApiResponse(responseCode = "404", description = "Keynote not found"),
+            @ApiResponse(responseCode = "409", description = "Keynote modified concurrently"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version")
     })
     @PutMapping("/{id}")
     public ResponseEntity<KeynoteDTO> updateKeynote(
             @Parameter(description = "Keynote ID") @PathVariable Long id,
+            @Parameter(description = "ETag of the version being updated") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody KeynoteDTO keynoteDTO) {
-        return ResponseEntity.ok(keynoteService.updateKeynote(id, keynoteDTO));
+        KeynoteDTO updatedKeynote = keynoteService.updateKeynote(id, keynoteDTO, ETags.expectedVersion(ifMatch));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (updatedKeynote != null) {
+            response.eTag(ETags.of(updatedKeynote.getVersion()));
+        }
+        return response.body(updatedKeynote);
     }
 
     @Operation(summary = "Delete a keynote", description = "Delete a keynote by ID")
@@ -92,4 +135,20 @@ public class KeynoteRestController {
             @Parameter(description = "Function to search") @RequestParam String fonction) {
         return ResponseEntity.ok(keynoteService.searchByFonction(fonction));
     }
+
+    @Operation(summary = "Full-text search keynotes", description = "Ranked search on names and functions with prefix and fuzzy matching")
+    @GetMapping("/search/fulltext")
+    public ResponseEntity<SearchResultDTO<KeynoteDTO>> fullTextSearch(
+            @Parameter(description = "Text to search") @RequestParam String q,
+            @Parameter(description = "Page index, starting at 0") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(keynoteService.fullTextSearch(q, page, size));
+    }
+
+    @Operation(summary = "Rebuild the search index", description = "Reindex every keynote from the database")
+    @PostMapping("/search/reindex")
+    public ResponseEntity<Void> rebuildSearchIndex() {
+        keynoteService.rebuildSearchIndex();
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -0,0 +1,10 @@
+create table keynote (
+    id bigint generated by default as identity,
+    nom varchar(255),
+    prenom varchar(255),
+    email varchar(255),
+    fonction varchar(255),
+    version bigint,
+    primary key (id),
+    constraint uk_keynote_email unique (email)
+);
@@ -0,0 +1,13 @@
+-- Outbox des changements de keynotes, lu dans l'ordre des ids par conference-service
+create table keynote_event (
+    id bigint generated by default as identity,
+    keynote_id bigint not null,
+    type varchar(255) not null check (type in ('CREATED', 'UPDATED', 'DELETED')),
+    nom varchar(255),
+    prenom varchar(255),
+    email varchar(255),
+    fonction varchar(255),
+    keynote_version bigint,
+    created_at timestamp(6) with time zone not null,
+    primary key (id)
+);
@@ -88,6 +88,12 @@ export class ConferencesComponent implements OnInit {
     openDetailModal(conference: Conference) {
         this.selectedConference.set(conference);
         this.showDetailModal.set(true);
+        if (conference.id) {
+            this.conferenceService.getReviewsByConferenceId(conference.id).subscribe({
+                next: (reviews) => this.selectedConference.set({ ...conference, reviews }),
+                error: (err) => console.error('Error loading reviews:', err)
+            });
+        }
     }
 
     openReviewModal(conference: Conference) {
@@ -2,7 +2,7 @@ import { Component, OnInit, signal } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { RouterLink } from '@angular/router';
 import { KeynoteService, ConferenceService } from '../../services';
-import { Keynote, Conference } from '../../models';
+import { Keynote, Conference, ConferenceStats } from '../../models';
 
 @Component({
     selector: 'app-dashboard',
@@ -14,6 +14,7 @@ import { Keynote, Conference } from '../../models';
 export class DashboardComponent implements OnInit {
     keynotes = signal<Keynote[]>([]);
     conferences = signal<Conference[]>([]);
+    conferenceStats = signal<ConferenceStats | null>(null);
     loading = signal(true);
 
     stats = signal({
@@ -43,10 +44,18 @@ export class DashboardComponent implements OnInit {
             error: (err) => console.error('Error loading keynotes:', err)
         });
 
+        // Totals come pre-aggregated from the server instead of being summed over every conference
+        this.conferenceService.getStats().subscribe({
+            next: (data) => {
+                this.conferenceStats.set(data);
+                this.updateStats();
+            },
+            error: (err) => console.error('Error loading conference stats:', err)
+        });
+
         this.conferenceService.getAllConferences().subscribe({
             next: (data) => {
                 this.conferences.set(data);
-                this.updateStats();
                 this.loading.set(false);
             },
             error: (err) => {
@@ -57,16 +66,13 @@ export class DashboardComponent implements OnInit {
     }
 
     updateStats() {
-        const conferences = this.conferences();
-        const totalReviews = conferences.reduce((sum, c) => sum + (c.reviews?.length || 0), 0);
-        const scores = conferences.filter(c => c.score).map(c => c.score!);
-        const avgScore = scores.length > 0 ? scores.reduce((a, b) => a + b, 0) / scores.length : 0;
+        const total = this.conferenceStats()?.total;
 
         this.stats.set({
             totalKeynotes: this.keynotes().length,
-            totalConferences: conferences.length,
-            totalReviews,
-            avgScore: Math.round(avgScore * 10) / 10
+            totalConferences: total?.conferences ?? 0,
+            totalReviews: total?.reviews ?? 0,
+            avgScore: Math.round((total?.averageScore ?? 0) * 10) / 10
         });
     }
 
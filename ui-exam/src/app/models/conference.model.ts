@@ -11,7 +11,9 @@ export interface Conference {
     duree: number;
     nombreInscrits: number;
     score?: number;
+    reviewCount?: number;
     keynoteId?: number;
+    version?: number;
     keynote?: Keynote;
     reviews?: Review[];
 }
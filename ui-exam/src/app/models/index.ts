@@ -1,3 +1,4 @@
 export * from './keynote.model';
 export * from './conference.model';
 export * from './review.model';
+export * from './stats.model';
@@ -4,4 +4,5 @@ export interface Keynote {
     prenom: string;
     email: string;
     fonction: string;
+    version?: number;
 }
@@ -4,4 +4,5 @@ export interface Review {
     texte: string;
     note: number;
     conferenceId?: number;
+    version?: number;
 }
@@ -0,0 +1,15 @@
+export interface StatsGroup {
+    key: string | null;
+    conferences: number;
+    nombreInscrits: number;
+    reviews: number;
+    averageScore: number | null;
+    ratings: Record<number, number>;
+}
+
+export interface ConferenceStats {
+    total: StatsGroup;
+    byType: StatsGroup[];
+    byMonth: StatsGroup[];
+    byKeynote: StatsGroup[];
+}
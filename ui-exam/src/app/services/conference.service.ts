@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { Conference, ConferenceType, Review } from '../models';
+import { Conference, ConferenceStats, ConferenceType, Review } from '../models';
 import { environment } from '../../environments/environment';
 
 @Injectable({
@@ -44,6 +44,10 @@ export class ConferenceService {
         return this.http.get<Conference[]>(`${this.apiUrl}/keynote/${keynoteId}`);
     }
 
+    getStats(): Observable<ConferenceStats> {
+        return this.http.get<ConferenceStats>(`${this.apiUrl}/stats`);
+    }
+
     // Review methods
     getReviewsByConferenceId(conferenceId: number): Observable<Review[]> {
         return this.http.get<Review[]>(`${this.apiUrl}/${conferenceId}/reviews`);